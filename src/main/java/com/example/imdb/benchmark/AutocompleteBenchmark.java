@@ -0,0 +1,145 @@
+package com.example.imdb.benchmark;
+
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.config.TableState;
+import com.example.imdb.service.AutocompleteIndex;
+import com.example.imdb.service.AutocompleteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the autocomplete index from already loaded tables and logs p50/p99 lookup latency over
+ * a realistic prefix mix: random popular titles and people, each typed one keystroke at a time,
+ * so short heavy prefixes appear as often as they do in a real typeahead.
+ * Run with {@code --spring.profiles.active=benchmark}.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "imdb.benchmark.autocomplete.enabled", havingValue = "true", matchIfMissing = true)
+public class AutocompleteBenchmark implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteBenchmark.class);
+    private static final int MAX_PREFIX_LENGTH = 8;
+    private static final int LIMIT = 10;
+
+    private final AutocompleteService autocompleteService;
+    private final TableReadiness readiness;
+    private final JdbcTemplate jdbcTemplate;
+    private final int samples;
+    private final int rounds;
+    private final long buildTimeoutSeconds;
+
+    public AutocompleteBenchmark(AutocompleteService autocompleteService,
+                                 TableReadiness readiness,
+                                 @Qualifier("backgroundJdbcTemplate") JdbcTemplate jdbcTemplate,
+                                 @Value("${imdb.benchmark.autocomplete.samples:2000}") int samples,
+                                 @Value("${imdb.benchmark.autocomplete.rounds:5}") int rounds,
+                                 @Value("${imdb.benchmark.autocomplete.build-timeout-seconds:1800}") long buildTimeoutSeconds) {
+        this.autocompleteService = autocompleteService;
+        this.readiness = readiness;
+        this.jdbcTemplate = jdbcTemplate;
+        this.samples = samples;
+        this.rounds = rounds;
+        this.buildTimeoutSeconds = buildTimeoutSeconds;
+    }
+
+    @Override
+    public void run(String... args) throws InterruptedException {
+        // The loader does not run under this profile; the tables are expected from a normal start
+        for (String table : List.of("title_basics", "title_ratings", "title_akas", "name_basics")) {
+            readiness.mark(table, TableState.READY);
+        }
+        long start = System.nanoTime();
+        autocompleteService.refresh();
+        long deadline = start + buildTimeoutSeconds * 1_000_000_000L;
+        while (!readiness.isReady(AutocompleteService.INDEX_NAME)) {
+            if (readiness.stateOf(AutocompleteService.INDEX_NAME) == TableState.FAILED || System.nanoTime() > deadline) {
+                log.error("Autocomplete index did not build: {}", readiness.stageSnapshot());
+                return;
+            }
+            Thread.sleep(200);
+        }
+        AutocompleteIndex index = autocompleteService.currentIndex();
+        log.info("autocomplete build: {} entries, {} keys, ~{} MB in {} s",
+                index.entryCount(), index.keyCount(), index.estimatedBytes() / (1024 * 1024),
+                String.format("%.1f", (System.nanoTime() - start) / 1e9));
+
+        List<String> prefixes = samplePrefixes();
+        if (prefixes.isEmpty()) {
+            log.warn("No titles or names to sample prefixes from");
+            return;
+        }
+
+        // Warm up the JIT on the same mix
+        for (String prefix : prefixes) {
+            autocompleteService.suggest(prefix, LIMIT);
+        }
+
+        long[] nanos = new long[prefixes.size() * rounds];
+        Map<Integer, List<Long>> byLength = new TreeMap<>();
+        int n = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String prefix : prefixes) {
+                long t0 = System.nanoTime();
+                autocompleteService.suggest(prefix, LIMIT);
+                long elapsed = System.nanoTime() - t0;
+                nanos[n++] = elapsed;
+                byLength.computeIfAbsent(prefix.length(), k -> new ArrayList<>()).add(elapsed);
+            }
+        }
+
+        log.info("autocomplete all: {} lookups, {}", n, percentiles(nanos));
+        byLength.forEach((length, times) -> log.info("autocomplete prefix length {}: {} lookups, {}",
+                length, times.size(), percentiles(times.stream().mapToLong(Long::longValue).toArray())));
+    }
+
+    /**
+     * Every keystroke prefix (1 to {@value #MAX_PREFIX_LENGTH} characters) of randomly chosen rated titles and people.
+     */
+    private List<String> samplePrefixes() {
+        List<String> labels = new ArrayList<>(jdbcTemplate.queryForList("""
+            SELECT t.primaryTitle
+            FROM title_basics t
+            JOIN title_ratings r ON t.tconst = r.tconst
+            ORDER BY random()
+            LIMIT ?
+            """, String.class, samples / 2));
+        labels.addAll(jdbcTemplate.queryForList("""
+            SELECT primaryName
+            FROM name_basics
+            WHERE knownForTitles IS NOT NULL
+            ORDER BY random()
+            LIMIT ?
+            """, String.class, samples - samples / 2));
+
+        List<String> prefixes = new ArrayList<>();
+        for (String label : labels) {
+            String normalized = AutocompleteIndex.normalize(label);
+            for (int length = 1; length <= Math.min(MAX_PREFIX_LENGTH, normalized.length()); length++) {
+                prefixes.add(normalized.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private static String percentiles(long[] nanos) {
+        Arrays.sort(nanos);
+        return String.format("p50 %.1f µs, p99 %.1f µs, max %.1f µs",
+                nanos[nanos.length / 2] / 1e3,
+                nanos[Math.min(nanos.length - 1, nanos.length * 99 / 100)] / 1e3,
+                nanos[nanos.length - 1] / 1e3);
+    }
+}
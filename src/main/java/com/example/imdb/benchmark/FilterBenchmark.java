@@ -0,0 +1,99 @@
+package com.example.imdb.benchmark;
+
+import com.example.imdb.repository.MovieFilterRepository;
+import com.example.imdb.repository.MovieFilterRepository.MovieFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times {@link MovieFilterRepository} for every combination of the actor, genre, language,
+ * region and year-range filters against already loaded tables, and logs p50/p99 latency.
+ * Run with {@code --spring.profiles.active=benchmark}.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "imdb.benchmark.filter.enabled", havingValue = "true", matchIfMissing = true)
+public class FilterBenchmark implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterBenchmark.class);
+    private static final String[] DIMENSIONS = {"actor", "genre", "language", "region", "years"};
+
+    private final MovieFilterRepository filterRepository;
+    private final String actor;
+    private final String genre;
+    private final String language;
+    private final String region;
+    private final int fromYear;
+    private final int toYear;
+    private final int iterations;
+
+    public FilterBenchmark(MovieFilterRepository filterRepository,
+                           @Value("${imdb.benchmark.filter.actor:Tom Hanks}") String actor,
+                           @Value("${imdb.benchmark.filter.genre:Drama}") String genre,
+                           @Value("${imdb.benchmark.filter.language:en}") String language,
+                           @Value("${imdb.benchmark.filter.region:US}") String region,
+                           @Value("${imdb.benchmark.filter.from-year:1990}") int fromYear,
+                           @Value("${imdb.benchmark.filter.to-year:2010}") int toYear,
+                           @Value("${imdb.benchmark.filter.iterations:50}") int iterations) {
+        this.filterRepository = filterRepository;
+        this.actor = actor;
+        this.genre = genre;
+        this.language = language;
+        this.region = region;
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(String... args) {
+        for (int mask = 0; mask < 1 << DIMENSIONS.length; mask++) {
+            MovieFilter filter = new MovieFilter(
+                    (mask & 1) != 0 ? actor : null,
+                    (mask & 2) != 0 ? genre : null,
+                    (mask & 4) != 0 ? language : null,
+                    (mask & 8) != 0 ? region : null,
+                    (mask & 16) != 0 ? fromYear : null,
+                    (mask & 16) != 0 ? toYear : null,
+                    50);
+
+            // Warm up the plan and the connection's prepared statement cache
+            int rows = 0;
+            for (int i = 0; i < 5; i++) {
+                rows = filterRepository.filter(filter).size();
+            }
+
+            long[] nanos = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                filterRepository.filter(filter);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            log.info("filter [{}]: {} rows, p50 {} ms, p99 {} ms",
+                    describe(mask), rows,
+                    String.format("%.2f", nanos[iterations / 2] / 1e6),
+                    String.format("%.2f", nanos[Math.min(iterations - 1, iterations * 99 / 100)] / 1e6));
+        }
+    }
+
+    private static String describe(int mask) {
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < DIMENSIONS.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                parts.add(DIMENSIONS[i]);
+            }
+        }
+        return parts.isEmpty() ? "none" : String.join("+", parts);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.imdb.benchmark;
+
+import com.example.imdb.config.DatabaseInitializer;
+import com.example.imdb.config.ImdbFileCleaner;
+import com.example.imdb.config.JdbcBatchLoader;
+import com.example.imdb.config.PostgresCopyLoader;
+import com.example.imdb.config.PostgresCopyLoader.CopyFormat;
+import com.example.imdb.config.TableMeta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the same cleaned files with every loader engine that supports the datasource into
+ * scratch tables and reports rows/s, plus server backend CPU per row on Postgres. On Postgres
+ * that is COPY text, COPY binary and batched JDBC inserts; on H2 batched inserts and CSVREAD.
+ * Run with {@code --spring.profiles.active=benchmark}.
+ *
+ * <p>Backend CPU is read from {@code /proc/<pid>/stat}, so it is only reported when Postgres
+ * runs on the same host as the benchmark. Ticks are converted with {@code getconf CLK_TCK};
+ * if that is unavailable the raw tick count is reported instead.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "imdb.benchmark.loader.enabled", havingValue = "true", matchIfMissing = true)
+public class LoaderBenchmark implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoaderBenchmark.class);
+
+    private interface Variant {
+        long load(Connection conn, TableMeta table, String targetTable, Path cleanFile) throws IOException, SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final PostgresCopyLoader copyLoader;
+    private final JdbcBatchLoader jdbcLoader;
+    private final Path dataDir;
+    private final List<String> tables;
+    private final int rounds;
+    private final long clockTicksPerSecond = clockTicksPerSecond();
+
+    public LoaderBenchmark(@Qualifier("loaderDataSource") DataSource dataSource,
+                           PostgresCopyLoader copyLoader,
+                           JdbcBatchLoader jdbcLoader,
+                           @Value("${imdb.data.dir:E:/database}") String dataDir,
+                           @Value("${imdb.benchmark.loader.tables:title_ratings,title_principals}") List<String> tables,
+                           @Value("${imdb.benchmark.rounds:3}") int rounds) {
+        this.dataSource = dataSource;
+        this.copyLoader = copyLoader;
+        this.jdbcLoader = jdbcLoader;
+        this.dataDir = Paths.get(dataDir);
+        this.tables = tables;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<String> names = new ArrayList<>();
+        List<Variant> variants = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            String product = conn.getMetaData().getDatabaseProductName();
+            if (copyLoader.supports(product)) {
+                for (CopyFormat format : CopyFormat.values()) {
+                    names.add("copy " + format.name().toLowerCase());
+                    variants.add((c, table, target, file) -> copyLoader.load(c, table, target, file, format));
+                }
+            }
+            names.add("jdbc batch");
+            variants.add((c, table, target, file) -> jdbcLoader.load(c, table, target, file, false));
+            if ("H2".equalsIgnoreCase(product)) {
+                names.add("jdbc csvread");
+                variants.add((c, table, target, file) -> jdbcLoader.load(c, table, target, file, true));
+            }
+        }
+
+        for (TableMeta table : DatabaseInitializer.imdbTables()) {
+            if (!tables.contains(table.name())) {
+                continue;
+            }
+            Path cleanFile = ImdbFileCleaner.cleanFile(dataDir.resolve(table.name() + ".tsv"), table.name());
+            for (int v = 0; v < variants.size(); v++) {
+                for (int round = 1; round <= rounds; round++) {
+                    runOnce(table, cleanFile, names.get(v), variants.get(v), round);
+                }
+            }
+        }
+    }
+
+    private void runOnce(TableMeta table, Path cleanFile, String name, Variant variant, int round)
+            throws IOException, SQLException {
+        String scratch = "bench_" + table.name();
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS " + scratch);
+                // Plain CREATE TABLE for H2; Postgres gets UNLOGGED so WAL does not dominate the comparison
+                String unlogged = "PostgreSQL".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName())
+                        ? "UNLOGGED " : "";
+                stmt.execute("CREATE " + unlogged + "TABLE " + scratch + " ("
+                        + (unlogged.isEmpty() ? table.ddl().replaceAll("(?i)\\bTEXT\\b", "VARCHAR") : table.ddl()) + ")");
+            }
+
+            int pid = backendPid(conn);
+            long cpuBefore = backendCpuTicks(pid);
+            long start = System.nanoTime();
+            long rows = variant.load(conn, table, scratch, cleanFile);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long cpuAfter = backendCpuTicks(pid);
+
+            String cpuPerRow;
+            if (cpuBefore < 0 || cpuAfter < 0) {
+                cpuPerRow = "n/a";
+            } else if (clockTicksPerSecond <= 0) {
+                cpuPerRow = (cpuAfter - cpuBefore) + " ticks total";
+            } else {
+                cpuPerRow = String.format("%.3f µs", (cpuAfter - cpuBefore) * 1e6 / clockTicksPerSecond / rows);
+            }
+            log.info("{} {} round {}: {} rows in {} s, {} rows/s, server CPU/row {}",
+                    name, table.name(), round, rows, String.format("%.2f", seconds),
+                    Math.round(rows / seconds), cpuPerRow);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE " + scratch);
+            }
+        }
+    }
+
+    /**
+     * Postgres backend process id, or -1 on other databases.
+     */
+    private int backendPid(Connection conn) {
+        try (Statement stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT pg_backend_pid()")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Kernel clock ticks per second (CLK_TCK) for {@code /proc} CPU times, or -1 when it cannot be determined.
+     */
+    private static long clockTicksPerSecond() {
+        try {
+            Process process = new ProcessBuilder("getconf", "CLK_TCK").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 ? Long.parseLong(output) : -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * utime + stime of the backend process in clock ticks, or -1 when it cannot be read.
+     */
+    private long backendCpuTicks(int pid) {
+        if (pid < 0) {
+            return -1;
+        }
+        try {
+            String stat = Files.readString(Path.of("/proc", String.valueOf(pid), "stat"));
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.imdb.config;
+
+/**
+ * Published once the background loader has processed every table, whether or not all of them succeeded.
+ */
+public class DataLoadCompletedEvent {
+
+    private final boolean allReady;
+
+    public DataLoadCompletedEvent(boolean allReady) {
+        this.allReady = allReady;
+    }
+
+    public boolean isAllReady() {
+        return allReady;
+    }
+}
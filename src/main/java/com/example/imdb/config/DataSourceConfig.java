@@ -0,0 +1,77 @@
+package com.example.imdb.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate Hikari pools so bulk loading, background jobs and API queries never wait on each other.
+ *
+ * <p>All pools connect with {@code spring.datasource.*}. Sizing, statement timeout and session
+ * settings are bound per pool from {@code imdb.datasource.<pool>.*}, using Hikari property names
+ * such as {@code maximum-pool-size} and {@code connection-init-sql}. Reads go to an optional
+ * read-only pool when {@code imdb.datasource.read.jdbc-url} is set, and to the query pool otherwise.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("imdb.datasource.query")
+    public HikariDataSource queryDataSource(DataSourceProperties properties) {
+        return createPool(properties, "query");
+    }
+
+    @Bean
+    @ConfigurationProperties("imdb.datasource.loader")
+    public HikariDataSource loaderDataSource(DataSourceProperties properties) {
+        return createPool(properties, "loader");
+    }
+
+    @Bean
+    @ConfigurationProperties("imdb.datasource.background")
+    public HikariDataSource backgroundDataSource(DataSourceProperties properties) {
+        return createPool(properties, "background");
+    }
+
+    @Bean
+    @ConditionalOnProperty("imdb.datasource.read.jdbc-url")
+    @ConfigurationProperties("imdb.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = createPool(properties, "read");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(@Qualifier("queryDataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public JdbcTemplate readJdbcTemplate(@Qualifier("queryDataSource") DataSource queryDataSource,
+                                         @Qualifier("readDataSource") ObjectProvider<DataSource> readDataSource) {
+        return new JdbcTemplate(readDataSource.getIfAvailable(() -> queryDataSource));
+    }
+
+    @Bean
+    public JdbcTemplate backgroundJdbcTemplate(@Qualifier("backgroundDataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.imdb.config;
 
 import com.zaxxer.hikari.HikariDataSource;
-import org.postgresql.copy.CopyManager;
-import org.postgresql.core.BaseConnection;
-import org.springframework.boot.CommandLineRunner;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -16,122 +21,169 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Creates and loads the IMDb tables on a background thread once the application is up,
+ * so endpoints can serve from tables that are ready while the rest are still loading.
+ */
 @Component
-public class DatabaseInitializer implements CommandLineRunner {
+@Profile("!benchmark")
+public class DatabaseInitializer {
 
-    private final HikariDataSource dataSource;
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInitializer.class);
 
-    public DatabaseInitializer(HikariDataSource dataSource) {
+    private final HikariDataSource dataSource;
+    private final TableReadiness readiness;
+    private final ApplicationEventPublisher events;
+    private final List<TableLoader> loaders;
+    private final String engine;
+    private final Path dataDir;
+    private final List<TableMeta> tables;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "imdb-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public DatabaseInitializer(@Qualifier("loaderDataSource") HikariDataSource dataSource,
+                               TableReadiness readiness,
+                               ApplicationEventPublisher events,
+                               List<TableLoader> loaders,
+                               @Value("${imdb.loader.engine:auto}") String engine,
+                               @Value("${imdb.data.dir:E:/database}") String dataDir) {
         this.dataSource = dataSource;
+        this.readiness = readiness;
+        this.events = events;
+        this.loaders = loaders;
+        this.engine = engine;
+        this.dataDir = Paths.get(dataDir);
+        this.tables = imdbTables();
+        // Register up front so requests arriving before the loader starts see "pending", not "ready"
+        tables.forEach(table -> readiness.register(table.name()));
     }
 
-    @Override
-    public void run(String... args) throws Exception {
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackgroundLoad() {
+        executor.submit(this::loadAll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void loadAll() {
+        TableLoader loader;
         try (Connection conn = dataSource.getConnection()) {
+            loader = selectLoader(conn);
+        } catch (Exception e) {
+            tables.forEach(table -> readiness.mark(table.name(), TableState.FAILED));
+            log.error("No loader engine available", e);
+            events.publishEvent(new DataLoadCompletedEvent(false));
+            return;
+        }
 
-            List<TableMeta> tables = List.of(
-                    new TableMeta("name_basics", getNameBasicsDDL(), getNameBasicsIndexes()),
-                    new TableMeta("title_basics", getTitleBasicsDDL(), getTitleBasicsIndexes()),
-                    new TableMeta("title_akas", getTitleAkasDDL(), getTitleAkasIndexes()),
-                    new TableMeta("title_principals", getTitlePrincipalsDDL(), getTitlePrincipalsIndexes()),
-                    new TableMeta("title_ratings", getTitleRatingsDDL(), getTitleRatingsIndexes()),
-                    new TableMeta("title_crew", getTitleCrewDDL(), getTitleCrewIndexes()),
-                    new TableMeta("title_episode", getTitleEpisodeDDL(), getTitleEpisodeIndexes())
-                   // new TableMeta("title_plot", getTitlePlotDDL(), getTitlePlotIndexes())
-            );
-
-            for (TableMeta table : tables) {
-                ensureTable(conn, table);
-
-                // Load table only if empty
-                try (Statement stmt = conn.createStatement();
-                     var rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table.name)) {
-                    rs.next();
-                    if (rs.getInt(1) == 0) {
-                        loadTable(conn, table);
-                    } else {
-                        System.out.println("Table " + table.name + " already has data.");
-                    }
-                }
-
-                vacuumAnalyze(conn, table);
+        for (TableMeta table : tables) {
+            try (Connection conn = dataSource.getConnection()) {
+                loadAndIndex(conn, loader, table);
+                readiness.mark(table.name(), TableState.READY);
+            } catch (Exception e) {
+                readiness.mark(table.name(), TableState.FAILED);
+                log.error("Failed to load table {}", table.name(), e);
             }
+        }
 
-            System.out.println("✅ All tables loaded successfully!");
+        boolean allReady = tables.stream().allMatch(table -> readiness.isReady(table.name()));
+        if (allReady) {
+            log.info("✅ All tables loaded successfully!");
+        } else {
+            log.warn("Table loading finished with failures: {}", readiness.snapshot());
         }
+        events.publishEvent(new DataLoadCompletedEvent(allReady));
     }
 
-    private void ensureTable(Connection conn, TableMeta table) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS " + table.name + " (" + table.ddl + ")");
-            for (String idx : table.indexes) {
-                stmt.execute(idx);
+    /**
+     * The first engine supporting the datasource, or the one named by {@code imdb.loader.engine}.
+     */
+    private TableLoader selectLoader(Connection conn) throws SQLException {
+        String product = conn.getMetaData().getDatabaseProductName();
+        for (TableLoader loader : loaders) {
+            boolean selected = "auto".equalsIgnoreCase(engine)
+                    ? loader.supports(product)
+                    : loader.name().equalsIgnoreCase(engine);
+            if (selected) {
+                log.info("Using {} loader engine for {}", loader.name(), product);
+                return loader;
             }
         }
+        throw new IllegalStateException("No loader engine '" + engine + "' for " + product);
     }
 
-    public void loadTable(Connection conn, TableMeta table) throws IOException, SQLException {
-        Path rawFile = Paths.get("E:/database/" + table.name + ".tsv");
-        if (!Files.exists(rawFile)) {
-            throw new FileNotFoundException("File not found: " + rawFile);
+    private void loadAndIndex(Connection conn, TableLoader loader, TableMeta table) throws IOException, SQLException {
+        loader.createTable(conn, table);
+
+        // Load table only if empty
+        if (!isEmpty(conn, table)) {
+            // Only indexes added since the last start get built; autovacuum keeps existing statistics fresh
+            log.info("Table {} already has data.", table.name());
+            readiness.mark(table.name(), TableState.INDEXING);
+            loader.createIndexes(conn, table);
+            return;
         }
 
-        // Pre-clean file before loading
-        Path cleanFile = ImdbFileCleaner.cleanFile(rawFile, table.name);
+        readiness.mark(table.name(), TableState.LOADING);
+        loadTable(conn, loader, table);
 
-        String copySql = switch (table.name) {
-            case "name_basics" -> """
-            COPY name_basics(nconst, primaryName, birthYear, deathYear, primaryProfession, knownForTitles)
-            FROM STDIN WITH (FORMAT CSV, DELIMITER E'\\t', NULL '', HEADER true, QUOTE E'\\b')
-        """;
-            case "title_basics" -> """
-            COPY title_basics(tconst, titleType, primaryTitle, originalTitle, isAdult, startYear, endYear, runtimeMinutes, genres)
-            FROM STDIN WITH (FORMAT CSV, DELIMITER E'\\t', NULL '', HEADER true, QUOTE E'\\b')
-        """;
-            case "title_principals" -> """
-            COPY title_principals(tconst, ordering, nconst, category, job, characters)
-            FROM STDIN WITH (FORMAT CSV, DELIMITER E'\\t', NULL '', HEADER true, QUOTE E'\\b')
-        """;
-            case "title_ratings" -> """
-            COPY title_ratings(tconst, averageRating, numVotes)
-            FROM STDIN WITH (FORMAT CSV, DELIMITER E'\\t', NULL '', HEADER true, QUOTE E'\\b')
-        """;
-            default -> throw new IllegalArgumentException("Unknown table: " + table.name);
-            case "title_akas" -> """
-        COPY title_akas(titleId, ordering, title, region, language, types, attributes, isOriginalTitle)
-        FROM STDIN WITH (FORMAT text, DELIMITER E'\\t', NULL '\\N')
-        """;
+        // Indexes are built after the bulk load, which is much cheaper than maintaining them row by row
+        readiness.mark(table.name(), TableState.INDEXING);
+        loader.createIndexes(conn, table);
+        loader.analyze(conn, table);
+    }
 
-            case "title_crew" -> """
-        COPY title_crew(tconst, directors, writers)
-        FROM STDIN WITH (FORMAT text, DELIMITER E'\\t', NULL '\\N')
-        """;
+    private boolean isEmpty(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table.name() + ")")) {
+            rs.next();
+            return !rs.getBoolean(1);
+        }
+    }
 
-            case "title_episode" -> """
-        COPY title_episode(tconst, parentTconst, seasonNumber, episodeNumber)
-        FROM STDIN WITH (FORMAT text, DELIMITER E'\\t', NULL '\\N')
-        """;
-        };
+    public void loadTable(Connection conn, TableLoader loader, TableMeta table) throws IOException, SQLException {
+        Path rawFile = dataDir.resolve(table.name() + ".tsv");
+        if (!Files.exists(rawFile)) {
+            throw new FileNotFoundException("File not found: " + rawFile);
+        }
 
-        BaseConnection pgConn = conn.unwrap(BaseConnection.class);
+        // Pre-clean file before loading
+        Path cleanFile = ImdbFileCleaner.cleanFile(rawFile, table.name());
 
-        try (BufferedReader reader = Files.newBufferedReader(cleanFile)) {
-            CopyManager copyManager = new CopyManager(pgConn);
-            long rows = copyManager.copyIn(copySql, reader);
-            System.out.println("✅ Loaded " + table.name + " (" + rows + " rows)");
-        }
+        long start = System.nanoTime();
+        long rows = loader.load(conn, table, table.name(), cleanFile);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("✅ Loaded {} ({} rows, {} engine, {} rows/s)",
+                table.name(), rows, loader.name(), Math.round(rows / seconds));
     }
 
-
-    private void vacuumAnalyze(Connection conn, TableMeta table) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("VACUUM ANALYZE " + table.name);
-        }
+    /**
+     * Tables in load order: the small ones most endpoints need come first, title_principals (the largest) last.
+     */
+    public static List<TableMeta> imdbTables() {
+        return List.of(
+                new TableMeta("title_basics", getTitleBasicsDDL(), getTitleBasicsIndexes()),
+                new TableMeta("title_ratings", getTitleRatingsDDL(), getTitleRatingsIndexes()),
+                new TableMeta("name_basics", getNameBasicsDDL(), getNameBasicsIndexes()),
+                new TableMeta("title_crew", getTitleCrewDDL(), getTitleCrewIndexes()),
+                new TableMeta("title_episode", getTitleEpisodeDDL(), getTitleEpisodeIndexes()),
+                new TableMeta("title_akas", getTitleAkasDDL(), getTitleAkasIndexes()),
+                new TableMeta("title_principals", getTitlePrincipalsDDL(), getTitlePrincipalsIndexes())
+               // new TableMeta("title_plot", getTitlePlotDDL(), getTitlePlotIndexes())
+        );
     }
 
     // --- Table DDL + Indexes ---
-    private String getNameBasicsDDL() {
+    private static String getNameBasicsDDL() {
         return """
                 nconst TEXT PRIMARY KEY,
                 primaryName TEXT,
@@ -142,13 +194,14 @@ public class DatabaseInitializer implements CommandLineRunner {
                 """;
     }
 
-    private String[] getNameBasicsIndexes() {
+    private static String[] getNameBasicsIndexes() {
         return new String[]{
-                "CREATE INDEX IF NOT EXISTS idx_name_basics_primaryName ON name_basics(primaryName)"
+                "CREATE INDEX IF NOT EXISTS idx_name_basics_primaryName ON name_basics(primaryName)",
+                "CREATE INDEX IF NOT EXISTS idx_name_basics_primaryName_lower ON name_basics(lower(primaryName) text_pattern_ops)"
         };
     }
 
-    private String getTitleBasicsDDL() {
+    private static String getTitleBasicsDDL() {
         return """
                 tconst TEXT PRIMARY KEY,
                 titleType TEXT,
@@ -162,13 +215,13 @@ public class DatabaseInitializer implements CommandLineRunner {
                 """;
     }
 
-    private String[] getTitleBasicsIndexes() {
+    private static String[] getTitleBasicsIndexes() {
         return new String[]{
                 "CREATE INDEX IF NOT EXISTS idx_title_basics_primaryTitle ON title_basics(primaryTitle)"
         };
     }
 
-    private String getTitlePrincipalsDDL() {
+    private static String getTitlePrincipalsDDL() {
         return """
                 tconst TEXT,
                 ordering INTEGER,
@@ -179,13 +232,14 @@ public class DatabaseInitializer implements CommandLineRunner {
                 """;
     }
 
-    private String[] getTitlePrincipalsIndexes() {
+    private static String[] getTitlePrincipalsIndexes() {
         return new String[]{
-                "CREATE INDEX IF NOT EXISTS idx_title_principals_nconst ON title_principals(nconst)"
+                "CREATE INDEX IF NOT EXISTS idx_title_principals_nconst ON title_principals(nconst)",
+                "CREATE INDEX IF NOT EXISTS idx_title_principals_tconst ON title_principals(tconst)"
         };
     }
 
-    private String getTitleRatingsDDL() {
+    private static String getTitleRatingsDDL() {
         return """
                 tconst TEXT PRIMARY KEY,
                 averageRating FLOAT,
@@ -193,29 +247,17 @@ public class DatabaseInitializer implements CommandLineRunner {
                 """;
     }
 
-    private String[] getTitleRatingsIndexes() {
+    private static String[] getTitleRatingsIndexes() {
         return new String[]{
                 "CREATE INDEX IF NOT EXISTS idx_title_ratings_rating ON title_ratings(averageRating DESC)"
         };
     }
 
-    private static class TableMeta {
-        String name;
-        String ddl;
-        String[] indexes;
-
-        public TableMeta(String name, String ddl, String[] indexes) {
-            this.name = name;
-            this.ddl = ddl;
-            this.indexes = indexes;
-        }
-    }
-
 
 
 
 
-    private String getTitleAkasDDL() {
+    private static String getTitleAkasDDL() {
         return """
             titleId TEXT,
             ordering INT,
@@ -227,10 +269,12 @@ public class DatabaseInitializer implements CommandLineRunner {
             isOriginalTitle TEXT
         """;
     }
-    private String[] getTitleAkasIndexes() {
+    private static String[] getTitleAkasIndexes() {
         return new String[]{
                 "CREATE INDEX IF NOT EXISTS idx_titleAkas_title ON title_akas(title)",
-                "CREATE INDEX IF NOT EXISTS idx_titleAkas_language ON title_akas(language)"
+                "CREATE INDEX IF NOT EXISTS idx_titleAkas_language ON title_akas(language)",
+                "CREATE INDEX IF NOT EXISTS idx_titleAkas_region ON title_akas(region)",
+                "CREATE INDEX IF NOT EXISTS idx_titleAkas_titleId ON title_akas(titleId)"
         };
     }
 
@@ -238,18 +282,18 @@ public class DatabaseInitializer implements CommandLineRunner {
 
 
 
-    private String getTitleCrewDDL() {
+    private static String getTitleCrewDDL() {
         return """
             tconst TEXT PRIMARY KEY,
             directors TEXT,
             writers TEXT
         """;
     }
-    private String[] getTitleCrewIndexes() {
+    private static String[] getTitleCrewIndexes() {
         return new String[0];
     }
 
-    private String getTitleEpisodeDDL() {
+    private static String getTitleEpisodeDDL() {
         return """
             tconst TEXT PRIMARY KEY,
             parentTconst TEXT,
@@ -257,17 +301,17 @@ public class DatabaseInitializer implements CommandLineRunner {
             episodeNumber TEXT
         """;
     }
-    private String[] getTitleEpisodeIndexes() {
+    private static String[] getTitleEpisodeIndexes() {
         return new String[0];
     }
 
-    private String getTitlePlotDDL() {
+    private static String getTitlePlotDDL() {
         return """
             tconst TEXT PRIMARY KEY,
             plot TEXT
         """;
     }
-    private String[] getTitlePlotIndexes() {
+    private static String[] getTitlePlotIndexes() {
         return new String[]{
                 "CREATE INDEX IF NOT EXISTS idx_plot_text ON title_plot USING gin(to_tsvector('english', plot))"
         };
@@ -0,0 +1,224 @@
+package com.example.imdb.config;
+
+import com.example.imdb.config.PgBinaryCopyEncoder.ColumnType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generic JDBC engine for H2 and other databases without COPY. Rows are sent as multi-row
+ * {@code INSERT ... VALUES (...), (...)} statements grouped into JDBC batches, all in one transaction
+ * so a failed load leaves the table empty and is retried on the next start. On H2 the whole file can
+ * instead be read server-side with {@code CSVREAD}, which is a single statement.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JdbcBatchLoader implements TableLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcBatchLoader.class);
+    private static final String NULL_MARKER = "\\N";
+    // Syntax errors, undefined functions/operator classes and unsupported features (standard, Postgres and H2 codes)
+    private static final Set<String> UNSUPPORTED_SQL_STATES =
+            Set.of("42000", "42001", "42601", "42704", "42883", "0A000", "HYC00", "50100", "90022");
+
+    private final int rowsPerStatement;
+    private final int statementsPerBatch;
+    private final boolean useCsvRead;
+
+    public JdbcBatchLoader(@Value("${imdb.loader.jdbc.rows-per-statement:100}") int rowsPerStatement,
+                           @Value("${imdb.loader.jdbc.statements-per-batch:50}") int statementsPerBatch,
+                           @Value("${imdb.loader.jdbc.use-csvread:true}") boolean useCsvRead) {
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerBatch = statementsPerBatch;
+        this.useCsvRead = useCsvRead;
+    }
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public boolean supports(String databaseProductName) {
+        return true;
+    }
+
+    @Override
+    public long load(Connection conn, TableMeta table, String targetTable, Path cleanFile)
+            throws IOException, SQLException {
+        return load(conn, table, targetTable, cleanFile, useCsvRead && isH2(conn));
+    }
+
+    public long load(Connection conn, TableMeta table, String targetTable, Path cleanFile, boolean csvRead)
+            throws IOException, SQLException {
+        return csvRead
+                ? loadWithCsvRead(conn, table, targetTable, cleanFile)
+                : loadWithBatches(conn, table, targetTable, cleanFile);
+    }
+
+    /**
+     * TEXT is a CLOB on most databases other than Postgres and cannot be indexed, so columns are created as VARCHAR.
+     */
+    @Override
+    public void createTable(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS " + table.name() + " ("
+                    + table.ddl().replaceAll("(?i)\\bTEXT\\b", "VARCHAR") + ")");
+        }
+    }
+
+    /**
+     * Indexes using Postgres-only features (expression indexes, operator classes, GIN) are skipped;
+     * any other failure, such as a lock timeout or a full disk, fails the table.
+     */
+    @Override
+    public void createIndexes(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String idx : table.indexes()) {
+                try {
+                    stmt.execute(idx);
+                } catch (SQLException e) {
+                    if (!UNSUPPORTED_SQL_STATES.contains(e.getSQLState())) {
+                        throw e;
+                    }
+                    log.warn("Skipping index not supported by {}: {} ({})",
+                            conn.getMetaData().getDatabaseProductName(), idx, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void analyze(Connection conn, TableMeta table) throws SQLException {
+        if (isH2(conn)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE TABLE " + table.name());
+            }
+        }
+    }
+
+    private long loadWithCsvRead(Connection conn, TableMeta table, String targetTable, Path cleanFile)
+            throws SQLException {
+        List<String> columns = table.columnNames();
+        // Empty fieldDelimiter disables quoting; IMDb never quotes and titles contain '"'.
+        // Backslash escapes within CSVREAD options, so the null string \N is written as \\N
+        String sql = "INSERT INTO " + targetTable + " (" + String.join(", ", columns) + ") "
+                + "SELECT * FROM CSVREAD('" + cleanFile.toAbsolutePath().toString().replace("'", "''") + "', "
+                + "'" + String.join(",", columns) + "', "
+                + "'charset=UTF-8 fieldDelimiter= null=\\\\N fieldSeparator=' || CHAR(9))";
+        try (Statement stmt = conn.createStatement()) {
+            return stmt.executeUpdate(sql);
+        }
+    }
+
+    private long loadWithBatches(Connection conn, TableMeta table, String targetTable, Path cleanFile)
+            throws IOException, SQLException {
+        List<String> columns = table.columnNames();
+        ColumnType[] types = table.columnTypes();
+        String[][] pending = new String[rowsPerStatement][];
+        int pendingRows = 0;
+        int batchedStatements = 0;
+        long rows = 0;
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (BufferedReader reader = Files.newBufferedReader(cleanFile);
+             PreparedStatement ps = conn.prepareStatement(insertSql(targetTable, columns, rowsPerStatement))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                pending[pendingRows++] = line.split("\t", -1);
+                rows++;
+                if (pendingRows == rowsPerStatement) {
+                    bind(conn, ps, pending, pendingRows, types);
+                    ps.addBatch();
+                    pendingRows = 0;
+                    if (++batchedStatements == statementsPerBatch) {
+                        ps.executeBatch();
+                        batchedStatements = 0;
+                    }
+                }
+            }
+            if (batchedStatements > 0) {
+                ps.executeBatch();
+            }
+            if (pendingRows > 0) {
+                try (PreparedStatement tail = conn.prepareStatement(insertSql(targetTable, columns, pendingRows))) {
+                    bind(conn, tail, pending, pendingRows, types);
+                    tail.executeUpdate();
+                }
+            }
+            conn.commit();
+            return rows;
+        } catch (IOException | SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String insertSql(String targetTable, List<String> columns, int rowCount) {
+        String placeholders = "(" + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(targetTable).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+
+    private static void bind(Connection conn, PreparedStatement ps, String[][] rows, int rowCount, ColumnType[] types)
+            throws SQLException {
+        int index = 1;
+        for (int r = 0; r < rowCount; r++) {
+            String[] fields = rows[r];
+            for (int c = 0; c < types.length; c++, index++) {
+                String value = fields[c];
+                if (NULL_MARKER.equals(value)) {
+                    ps.setNull(index, sqlType(types[c]));
+                    continue;
+                }
+                switch (types[c]) {
+                    case TEXT -> ps.setString(index, value);
+                    case INT4 -> ps.setInt(index, Integer.parseInt(value));
+                    case FLOAT8 -> ps.setDouble(index, Double.parseDouble(value));
+                    case TEXT_ARRAY -> ps.setArray(index, conn.createArrayOf("VARCHAR", value.split(",", -1)));
+                    case INT4_ARRAY -> ps.setArray(index, conn.createArrayOf("INTEGER",
+                            Arrays.stream(value.split(",", -1)).map(Integer::valueOf).toArray()));
+                }
+            }
+        }
+    }
+
+    private static int sqlType(ColumnType type) {
+        return switch (type) {
+            case TEXT -> Types.VARCHAR;
+            case INT4 -> Types.INTEGER;
+            case FLOAT8 -> Types.DOUBLE;
+            case TEXT_ARRAY, INT4_ARRAY -> Types.ARRAY;
+        };
+    }
+
+    private static boolean isH2(Connection conn) throws SQLException {
+        return "H2".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.imdb.config;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Encodes cleaned IMDb TSV rows into the PostgreSQL binary COPY format, so the server
+ * receives typed values instead of tokenizing and parsing every field itself.
+ * <p>
+ * The array types are only used for columns declared {@code TEXT[]} or {@code INT[]}. No table declares
+ * one today: multi-valued IMDb fields such as genres, directors and knownForTitles stay comma-separated
+ * TEXT, because the query layer matches them with ILIKE and string_to_array.
+ */
+public class PgBinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final String NULL_MARKER = "\\N";
+
+    public enum ColumnType {
+        TEXT(25),
+        INT4(23),
+        FLOAT8(701),
+        TEXT_ARRAY(25),
+        INT4_ARRAY(23);
+
+        private final int elementOid;
+
+        ColumnType(int elementOid) {
+            this.elementOid = elementOid;
+        }
+
+        public static ColumnType forSqlType(String sqlType) {
+            return switch (sqlType.toUpperCase(Locale.ROOT)) {
+                case "TEXT", "VARCHAR" -> TEXT;
+                case "INT", "INTEGER", "INT4" -> INT4;
+                case "FLOAT", "FLOAT8", "DOUBLE" -> FLOAT8;
+                case "TEXT[]" -> TEXT_ARRAY;
+                case "INT[]", "INTEGER[]", "INT4[]" -> INT4_ARRAY;
+                default -> throw new IllegalArgumentException("Unsupported column type: " + sqlType);
+            };
+        }
+    }
+
+    private final ColumnType[] types;
+
+    public PgBinaryCopyEncoder(ColumnType[] types) {
+        this.types = types;
+    }
+
+    public void writeHeader(DataOutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+    }
+
+    /**
+     * Writes one tuple. {@code \N} fields are written as SQL NULL; array columns take comma-separated values.
+     */
+    public void writeRow(DataOutputStream out, String[] fields) throws IOException {
+        if (fields.length != types.length) {
+            throw new IllegalArgumentException("Expected " + types.length + " fields but got " + fields.length);
+        }
+        out.writeShort(types.length);
+        for (int i = 0; i < types.length; i++) {
+            String value = fields[i];
+            if (NULL_MARKER.equals(value)) {
+                out.writeInt(-1);
+                continue;
+            }
+            switch (types[i]) {
+                case TEXT -> writeText(out, value);
+                case INT4 -> {
+                    out.writeInt(4);
+                    out.writeInt(Integer.parseInt(value));
+                }
+                case FLOAT8 -> {
+                    out.writeInt(8);
+                    out.writeDouble(Double.parseDouble(value));
+                }
+                case TEXT_ARRAY, INT4_ARRAY -> writeArray(out, types[i], value.split(",", -1));
+            }
+        }
+    }
+
+    public void writeTrailer(DataOutputStream out) throws IOException {
+        out.writeShort(-1);
+    }
+
+    private void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeArray(DataOutputStream out, ColumnType type, String[] elements) throws IOException {
+        byte[][] encoded = new byte[elements.length][];
+        int size = 20; // ndim, has-null flag, element oid, dimension length, lower bound
+        for (int i = 0; i < elements.length; i++) {
+            if (type == ColumnType.INT4_ARRAY) {
+                size += 8;
+            } else {
+                encoded[i] = elements[i].getBytes(StandardCharsets.UTF_8);
+                size += 4 + encoded[i].length;
+            }
+        }
+
+        out.writeInt(size);
+        out.writeInt(1);
+        out.writeInt(0);
+        out.writeInt(type.elementOid);
+        out.writeInt(elements.length);
+        out.writeInt(1);
+        for (int i = 0; i < elements.length; i++) {
+            if (type == ColumnType.INT4_ARRAY) {
+                out.writeInt(4);
+                out.writeInt(Integer.parseInt(elements[i]));
+            } else {
+                out.writeInt(encoded[i].length);
+                out.write(encoded[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.imdb.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time usage of every Hikari pool, keyed by pool name.
+ */
+@Component
+public class PoolStats {
+
+    private final List<HikariDataSource> pools;
+
+    public PoolStats(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (HikariDataSource pool : pools) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("maximumPoolSize", pool.getMaximumPoolSize());
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            // The pool starts lazily on first getConnection()
+            if (mxBean != null) {
+                stats.put("active", mxBean.getActiveConnections());
+                stats.put("idle", mxBean.getIdleConnections());
+                stats.put("total", mxBean.getTotalConnections());
+                stats.put("waiting", mxBean.getThreadsAwaitingConnection());
+            }
+            result.put(pool.getPoolName(), stats);
+        }
+        return result;
+    }
+}
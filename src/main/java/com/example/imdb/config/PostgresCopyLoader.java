@@ -0,0 +1,107 @@
+package com.example.imdb.config;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Streams a cleaned IMDb file into Postgres with COPY, either as tab-delimited text or as
+ * client-encoded binary tuples.
+ */
+@Component
+@Order(0)
+public class PostgresCopyLoader implements TableLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public enum CopyFormat {
+        TEXT,
+        BINARY
+    }
+
+    private final CopyFormat defaultFormat;
+
+    public PostgresCopyLoader(@Value("${imdb.loader.copy-format:text}") String copyFormat) {
+        this.defaultFormat = CopyFormat.valueOf(copyFormat.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public String name() {
+        return "copy";
+    }
+
+    @Override
+    public boolean supports(String databaseProductName) {
+        return "PostgreSQL".equalsIgnoreCase(databaseProductName);
+    }
+
+    @Override
+    public long load(Connection conn, TableMeta table, String targetTable, Path cleanFile)
+            throws IOException, SQLException {
+        return load(conn, table, targetTable, cleanFile, defaultFormat);
+    }
+
+    @Override
+    public void analyze(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("VACUUM ANALYZE " + table.name());
+        }
+    }
+
+    /**
+     * Copies {@code cleanFile} into {@code targetTable}, which must have the columns of {@code table}.
+     */
+    public long load(Connection conn, TableMeta table, String targetTable, Path cleanFile, CopyFormat format)
+            throws IOException, SQLException {
+        PGConnection pgConn = conn.unwrap(PGConnection.class);
+        String columns = String.join(", ", table.columnNames());
+
+        if (format == CopyFormat.BINARY) {
+            String copySql = "COPY " + targetTable + "(" + columns + ") FROM STDIN WITH (FORMAT binary)";
+            return copyBinary(pgConn, table, copySql, cleanFile);
+        }
+
+        // The cleaner has already dropped the header; IMDb marks NULL as \N and never quotes fields
+        String copySql = "COPY " + targetTable + "(" + columns + ") FROM STDIN "
+                + "WITH (FORMAT csv, DELIMITER E'\\t', NULL '\\N', QUOTE E'\\b')";
+        try (BufferedReader reader = Files.newBufferedReader(cleanFile)) {
+            return pgConn.getCopyAPI().copyIn(copySql, reader);
+        }
+    }
+
+    private long copyBinary(PGConnection pgConn, TableMeta table, String copySql, Path cleanFile)
+            throws IOException, SQLException {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(table.columnTypes());
+        PGCopyOutputStream copyOut = new PGCopyOutputStream(pgConn, copySql, BUFFER_SIZE);
+
+        try (BufferedReader reader = Files.newBufferedReader(cleanFile)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(copyOut, BUFFER_SIZE));
+            encoder.writeHeader(out);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                encoder.writeRow(out, line.split("\t", -1));
+            }
+            encoder.writeTrailer(out);
+            out.flush();
+            return copyOut.endCopy();
+        } catch (IOException | SQLException | RuntimeException e) {
+            if (copyOut.isActive()) {
+                copyOut.cancelCopy();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.imdb.config;
+
+import java.util.Map;
+
+/**
+ * Thrown when a request depends on a table or derived stage whose load failed; unlike
+ * {@link TableNotReadyException} retrying will not help until the data is reloaded.
+ */
+public class TableLoadFailedException extends RuntimeException {
+
+    private final Map<String, String> tables;
+
+    public TableLoadFailedException(Map<String, String> tables) {
+        super("Tables failed to load: " + tables);
+        this.tables = tables;
+    }
+
+    public Map<String, String> getTables() {
+        return tables;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.imdb.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Engine that creates, bulk-loads and indexes an IMDb table on one kind of database.
+ * {@link DatabaseInitializer} picks the first engine that supports the loader datasource,
+ * unless {@code imdb.loader.engine} names one explicitly.
+ */
+public interface TableLoader {
+
+    /**
+     * Short engine name, matched against {@code imdb.loader.engine}.
+     */
+    String name();
+
+    /**
+     * Whether this engine can load into a database reporting {@code databaseProductName}.
+     */
+    boolean supports(String databaseProductName);
+
+    /**
+     * Loads the cleaned (headerless, tab-separated) file into {@code targetTable} and returns the row count.
+     * {@code targetTable} must have {@code table}'s columns; the initializer passes {@code table.name()},
+     * while {@code LoaderBenchmark} loads into scratch {@code bench_*} copies so live tables stay untouched.
+     */
+    long load(Connection conn, TableMeta table, String targetTable, Path cleanFile) throws IOException, SQLException;
+
+    default void createTable(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS " + table.name() + " (" + table.ddl() + ")");
+        }
+    }
+
+    default void createIndexes(Connection conn, TableMeta table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String idx : table.indexes()) {
+                stmt.execute(idx);
+            }
+        }
+    }
+
+    default void analyze(Connection conn, TableMeta table) throws SQLException {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.imdb.config;
+
+import com.example.imdb.config.PgBinaryCopyEncoder.ColumnType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Name, DDL and indexes of one IMDb table. Column names and types are derived from the DDL.
+ */
+public record TableMeta(String name, String ddl, String[] indexes) {
+
+    public List<String> columnNames() {
+        return columnDefinitions().stream().map(def -> def[0]).toList();
+    }
+
+    public ColumnType[] columnTypes() {
+        return columnDefinitions().stream()
+                .map(def -> ColumnType.forSqlType(def[1]))
+                .toArray(ColumnType[]::new);
+    }
+
+    private List<String[]> columnDefinitions() {
+        List<String[]> defs = new ArrayList<>();
+        for (String line : ddl.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.endsWith(",")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            String[] parts = trimmed.split("\\s+");
+            defs.add(new String[]{parts[0], parts[1]});
+        }
+        return defs;
+    }
+}
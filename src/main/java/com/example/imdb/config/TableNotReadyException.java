@@ -0,0 +1,26 @@
+package com.example.imdb.config;
+
+import java.util.Map;
+
+/**
+ * Thrown when a request depends on a table that is still being loaded.
+ */
+public class TableNotReadyException extends RuntimeException {
+
+    private final Map<String, String> tables;
+    private final long retryAfterSeconds;
+
+    public TableNotReadyException(Map<String, String> tables, long retryAfterSeconds) {
+        super("Tables not ready: " + tables);
+        this.tables = tables;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Map<String, String> getTables() {
+        return tables;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.imdb.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks per-table load state so endpoints can serve as soon as the tables they query are ready.
+ * <p>
+ * Derived stages built after the load (autocomplete index, collaboration graph, series rollups) are
+ * tracked separately: endpoints can {@link #require} them like tables, but {@link #allReady()} and
+ * {@link #anyFailed()} only look at tables, so an optional stage never holds back overall readiness.
+ */
+@Component
+public class TableReadiness {
+
+    private final Map<String, TableState> states = new LinkedHashMap<>();
+    private final Map<String, TableState> stages = new LinkedHashMap<>();
+    private final long retryAfterSeconds;
+
+    public TableReadiness(@Value("${imdb.readiness.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public synchronized void register(String table) {
+        states.putIfAbsent(table, TableState.PENDING);
+    }
+
+    public synchronized void registerStage(String stage) {
+        stages.putIfAbsent(stage, TableState.PENDING);
+    }
+
+    public synchronized void mark(String name, TableState state) {
+        if (stages.containsKey(name)) {
+            stages.put(name, state);
+        } else {
+            states.put(name, state);
+        }
+    }
+
+    public synchronized TableState stateOf(String name) {
+        TableState stage = stages.get(name);
+        return stage != null ? stage : states.getOrDefault(name, TableState.PENDING);
+    }
+
+    public synchronized boolean isReady(String... tables) {
+        for (String table : tables) {
+            if (stateOf(table) != TableState.READY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean allReady() {
+        return states.values().stream().allMatch(s -> s == TableState.READY);
+    }
+
+    public synchronized boolean anyFailed() {
+        return states.containsValue(TableState.FAILED);
+    }
+
+    /**
+     * Fails fast when any of the given tables is not ready: {@link TableLoadFailedException} if one of
+     * them failed to load, otherwise {@link TableNotReadyException} while they are still on their way.
+     */
+    public void require(String... tables) {
+        Map<String, String> notReady = new LinkedHashMap<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+        synchronized (this) {
+            for (String table : tables) {
+                TableState state = stateOf(table);
+                if (state == TableState.FAILED) {
+                    failed.put(table, state.label());
+                } else if (state != TableState.READY) {
+                    notReady.put(table, state.label());
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new TableLoadFailedException(failed);
+        }
+        if (!notReady.isEmpty()) {
+            throw new TableNotReadyException(notReady, retryAfterSeconds);
+        }
+    }
+
+    public synchronized Map<String, String> snapshot() {
+        return labels(states);
+    }
+
+    public synchronized Map<String, String> stageSnapshot() {
+        return labels(stages);
+    }
+
+    private static Map<String, String> labels(Map<String, TableState> source) {
+        Map<String, String> result = new LinkedHashMap<>();
+        source.forEach((name, state) -> result.put(name, state.label()));
+        return result;
+    }
+}
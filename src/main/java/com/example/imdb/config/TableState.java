@@ -0,0 +1,18 @@
+package com.example.imdb.config;
+
+import java.util.Locale;
+
+/**
+ * Lifecycle of a table while the background loader works through it.
+ */
+public enum TableState {
+    PENDING,
+    LOADING,
+    INDEXING,
+    READY,
+    FAILED;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.imdb.controller;
+
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.service.AutocompleteIndex;
+import com.example.imdb.service.AutocompleteService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+    private final TableReadiness readiness;
+
+    public AutocompleteController(AutocompleteService autocompleteService, TableReadiness readiness) {
+        this.autocompleteService = autocompleteService;
+        this.readiness = readiness;
+    }
+
+    @GetMapping
+    public List<AutocompleteIndex.Suggestion> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        readiness.require(AutocompleteService.INDEX_NAME);
+        return autocompleteService.suggest(q, limit);
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        AutocompleteIndex index = autocompleteService.currentIndex();
+        return Map.of(
+                "entries", index.entryCount(),
+                "keys", index.keyCount(),
+                "estimatedBytes", index.estimatedBytes()
+        );
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Map<String, String> refresh() {
+        return autocompleteService.scheduleRefresh();
+    }
+}
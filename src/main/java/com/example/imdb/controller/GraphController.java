@@ -0,0 +1,52 @@
+package com.example.imdb.controller;
+
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.service.CollaborationGraphService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/graph")
+public class GraphController {
+
+    private final CollaborationGraphService graphService;
+    private final TableReadiness readiness;
+
+    public GraphController(CollaborationGraphService graphService, TableReadiness readiness) {
+        this.graphService = graphService;
+        this.readiness = readiness;
+    }
+
+    @GetMapping("/shared")
+    public Map<String, Object> sharedFilmography(@RequestParam String a, @RequestParam String b) {
+        readiness.require(CollaborationGraphService.GRAPH_NAME, "name_basics", "title_basics", "title_ratings");
+        return graphService.sharedFilmography(a, b);
+    }
+
+    @GetMapping("/costars")
+    public Map<String, Object> topCoStars(
+            @RequestParam String nconst,
+            @RequestParam(defaultValue = "10") int limit) {
+        readiness.require(CollaborationGraphService.GRAPH_NAME, "name_basics");
+        return graphService.topCoStars(nconst, limit);
+    }
+
+    @GetMapping("/path")
+    public Map<String, Object> shortestPath(@RequestParam String from, @RequestParam String to) {
+        readiness.require(CollaborationGraphService.GRAPH_NAME, "name_basics", "title_basics");
+        return graphService.shortestPath(from, to);
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return graphService.stats();
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Map<String, String> refresh() {
+        return graphService.scheduleRefresh();
+    }
+}
@@ -1,37 +1,48 @@
 package com.example.imdb.controller;
 
+import com.example.imdb.config.PoolStats;
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.dto.BatchLookupRequest;
 import com.example.imdb.service.ImdbService;
 import com.example.imdb.service.MovieService;
-import com.example.imdb.service.OmdbClient;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieController {
 
-    private static final Logger log = LoggerFactory.getLogger(MovieController.class);
 
     private final ImdbService imdbService;
     private final MovieService movieService;
-    private final OmdbClient omdbClient;
-
-    public MovieController(ImdbService imdbService, MovieService movieService, OmdbClient omdbClient) {
+    private final TableReadiness readiness;
+    private final PoolStats poolStats;
+    private final int maxBatchSize;
+    private final int maxPlotBatchSize;
+
+    public MovieController(ImdbService imdbService, MovieService movieService, TableReadiness readiness,
+                           PoolStats poolStats, @Value("${imdb.batch.max-ids:5000}") int maxBatchSize,
+                           @Value("${imdb.batch.max-plot-ids:50}") int maxPlotBatchSize) {
         this.imdbService = imdbService;
         this.movieService = movieService;
-        this.omdbClient = omdbClient;
+        this.readiness = readiness;
+        this.poolStats = poolStats;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPlotBatchSize = maxPlotBatchSize;
     }
 
     @GetMapping("/top")
     public List<Map<String, Object>> getTopMoviesByActor(
             @RequestParam String actor,
             @RequestParam(defaultValue = "10") int limit) {
+        readiness.require("title_basics", "title_principals", "name_basics", "title_ratings");
         return imdbService.getTopMoviesByActor(actor, limit);
     }
 
@@ -39,12 +50,14 @@ public class MovieController {
     public List<Map<String, Object>> searchMoviesByTitle(
             @RequestParam String title,
             @RequestParam(defaultValue = "10") int limit) {
+        readiness.require("title_basics", "title_ratings");
         return imdbService.searchMoviesByTitle(title, limit);
     }
 
     @GetMapping("/top-rated")
     public List<Map<String, Object>> getTopRatedMovies(
             @RequestParam(defaultValue = "50") int limit) {
+        readiness.require("title_basics", "title_ratings");
         return imdbService.getTopRatedMovies(limit);
     }
 
@@ -53,50 +66,79 @@ public class MovieController {
             @RequestParam(required = false) String actor,
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) String language,
-            @RequestParam(required = false) String fromYear,
-            @RequestParam(required = false) String toYear,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) Integer fromYear,
+            @RequestParam(required = false) Integer toYear,
             @RequestParam(defaultValue = "50") int limit) {
-        return imdbService.filterMovies(actor, genre, language, fromYear, toYear, limit);
+        readiness.require("title_basics", "title_ratings");
+        if (actor != null && !actor.isEmpty()) {
+            readiness.require("title_principals", "name_basics");
+        }
+        if ((language != null && !language.isEmpty()) || (region != null && !region.isEmpty())) {
+            readiness.require("title_akas");
+        }
+        return imdbService.filterMovies(actor, genre, language, region, fromYear, toYear, limit);
     }
 
     @GetMapping("/top-with-plot")
     public List<Map<String, Object>> getTopMoviesWithPlot(
             @RequestParam String actor,
             @RequestParam(defaultValue = "10") int limit) {
+        readiness.require("title_basics", "title_principals", "name_basics", "title_ratings");
 
-        List<Map<String, Object>> movies = imdbService.getTopMoviesByActorWithPlot(actor, limit);
-
-        // Process movies safely
-        return movies.stream().map(m -> {
-            Object tconstObj = m.get("tconst");
-
-            if (tconstObj == null) {
-                log.warn("Movie map missing 'tconst': {}", m);
-                m.put("plot", "Plot not available");
-                m.put("poster", "");
-                return m;
-            }
-
-            String imdbId = Objects.toString(tconstObj, "");
-            Map<String, Object> omdbData = omdbClient.fetchMovieDetails(imdbId);
-
-            if (omdbData != null) {
-                m.put("plot", omdbData.getOrDefault("Plot", "Plot not available"));
-                m.put("poster", omdbData.getOrDefault("Poster", ""));
-            } else {
-                m.put("plot", "Plot not available");
-                m.put("poster", "");
-            }
+        // Plot and poster are attached by the service in one batched OMDb pass
+        return imdbService.getTopMoviesByActorWithPlot(actor, limit);
+    }
 
-            return m;
-        }).collect(Collectors.toList());
+    @PostMapping("/batch")
+    public Map<String, Object> lookupBatch(@RequestBody BatchLookupRequest request) {
+        List<String> tconsts = request.getTconsts();
+        if (tconsts == null || tconsts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tconsts must not be empty");
+        }
+        if (tconsts.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBatchSize + " tconsts per request");
+        }
+        // Every plot is a remote OMDb call, so withPlot gets a much smaller cap than the database lookup
+        if (request.isWithPlot() && tconsts.size() > maxPlotBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxPlotBatchSize + " tconsts per request with withPlot=true");
+        }
+
+        readiness.require("title_basics", "title_ratings");
+        if (request.isIncludeCrew()) {
+            readiness.require("title_crew");
+        }
+        if (request.isIncludePrincipals()) {
+            readiness.require("title_principals", "name_basics");
+        }
+        return imdbService.lookupBatch(tconsts, request.isIncludeCrew(), request.isIncludePrincipals(),
+                request.isWithPlot());
     }
 
     @GetMapping("/health")
-    public Map<String, String> healthCheck() {
-        return Map.of(
-                "status", "OK",
-                "message", "IMDb API is running 🚀"
-        );
+    public Map<String, Object> healthCheck() {
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", "OK");
+        health.put("message", "IMDb API is running 🚀");
+        health.put("tables", readiness.snapshot());
+        health.put("stages", readiness.stageSnapshot());
+        health.put("pools", poolStats.snapshot());
+        return health;
+    }
+
+    /**
+     * 200 once every table is ready, 503 while any is still pending, loading or indexing, or has failed.
+     * Derived stages are reported for information only; their endpoints answer 503 on their own until built.
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> readinessCheck() {
+        boolean ready = readiness.allReady();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", ready ? "READY" : readiness.anyFailed() ? "FAILED" : "LOADING");
+        body.put("tables", readiness.snapshot());
+        body.put("stages", readiness.stageSnapshot());
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
     }
 }
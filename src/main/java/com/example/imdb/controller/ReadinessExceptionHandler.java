@@ -0,0 +1,39 @@
+package com.example.imdb.controller;
+
+import com.example.imdb.config.TableLoadFailedException;
+import com.example.imdb.config.TableNotReadyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ReadinessExceptionHandler {
+
+    @ExceptionHandler(TableNotReadyException.class)
+    public ResponseEntity<Map<String, Object>> handleTableNotReady(TableNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "status", "UNAVAILABLE",
+                        "message", "Data is still loading, retry later",
+                        "tables", e.getTables()
+                ));
+    }
+
+    /**
+     * No Retry-After: a failed table stays failed until the next load, so clients should not keep polling.
+     */
+    @ExceptionHandler(TableLoadFailedException.class)
+    public ResponseEntity<Map<String, Object>> handleTableLoadFailed(TableLoadFailedException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                        "status", "FAILED",
+                        "message", "Data failed to load, see server logs",
+                        "tables", e.getTables()
+                ));
+    }
+}
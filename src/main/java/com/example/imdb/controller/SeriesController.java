@@ -0,0 +1,56 @@
+package com.example.imdb.controller;
+
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.service.SeriesRollupService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/series")
+public class SeriesController {
+
+    private final SeriesRollupService seriesRollupService;
+    private final TableReadiness readiness;
+
+    public SeriesController(SeriesRollupService seriesRollupService, TableReadiness readiness) {
+        this.seriesRollupService = seriesRollupService;
+        this.readiness = readiness;
+    }
+
+    @GetMapping("/{tconst}")
+    public Map<String, Object> getSeries(@PathVariable String tconst) {
+        readiness.require(SeriesRollupService.ROLLUP_NAME);
+        List<Map<String, Object>> rows = seriesRollupService.findSeries(tconst);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No episodes found for series " + tconst);
+        }
+        return rows.get(0);
+    }
+
+    @GetMapping("/{tconst}/seasons")
+    public List<Map<String, Object>> getSeasons(@PathVariable String tconst) {
+        readiness.require(SeriesRollupService.ROLLUP_NAME);
+        return seriesRollupService.findSeasons(tconst);
+    }
+
+    @GetMapping("/{tconst}/seasons/{season}")
+    public Map<String, Object> getSeason(@PathVariable String tconst, @PathVariable int season) {
+        readiness.require(SeriesRollupService.ROLLUP_NAME);
+        List<Map<String, Object>> rows = seriesRollupService.findSeason(tconst, season);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "No episodes found for season " + season + " of " + tconst);
+        }
+        return rows.get(0);
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Map<String, String> refresh() {
+        return seriesRollupService.scheduleRefresh();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.imdb.dto;
+
+import java.util.List;
+
+public class BatchLookupRequest {
+    private List<String> tconsts;
+    private boolean includeCrew;
+    private boolean includePrincipals;
+    private boolean withPlot;
+
+    public BatchLookupRequest() {
+    }
+
+    // Getters and setters
+    public List<String> getTconsts() { return tconsts; }
+    public void setTconsts(List<String> tconsts) { this.tconsts = tconsts; }
+    public boolean isIncludeCrew() { return includeCrew; }
+    public void setIncludeCrew(boolean includeCrew) { this.includeCrew = includeCrew; }
+    public boolean isIncludePrincipals() { return includePrincipals; }
+    public void setIncludePrincipals(boolean includePrincipals) { this.includePrincipals = includePrincipals; }
+    public boolean isWithPlot() { return withPlot; }
+    public void setWithPlot(boolean withPlot) { this.withPlot = withPlot; }
+}
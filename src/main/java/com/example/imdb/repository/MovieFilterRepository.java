@@ -0,0 +1,169 @@
+package com.example.imdb.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index-driven title filter. Selective predicates are resolved first (an actor name to a set of
+ * nconsts through the lower(primaryName) index) and then applied as EXISTS semi-joins, so each
+ * title is returned once. The SQL for every filter combination is built once and reused, which
+ * lets the driver keep a server-side prepared statement per combination.
+ */
+@Repository
+public class MovieFilterRepository {
+
+    private static final int ACTOR_MATCH_LIMIT = 500;
+    private static final int ACTOR_CANDIDATE_LIMIT = 5_000;
+
+    private static final int GENRE = 1;
+    private static final int ACTOR = 1 << 1;
+    private static final int AKA_LANGUAGE = 1 << 2;
+    private static final int AKA_REGION = 1 << 3;
+    private static final int FROM_YEAR = 1 << 4;
+    private static final int TO_YEAR = 1 << 5;
+
+    public record MovieFilter(String actor, String genre, String language, String region,
+                              Integer fromYear, Integer toYear, int limit) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, String> sqlByShape = new ConcurrentHashMap<>();
+
+    public MovieFilterRepository(@Qualifier("readJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Map<String, Object>> filter(MovieFilter filter) {
+        List<String> nconsts = null;
+        if (hasText(filter.actor())) {
+            nconsts = findActorIds(filter.actor());
+            if (nconsts.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        int shape = shapeOf(filter);
+        String sql = sqlByShape.computeIfAbsent(shape, MovieFilterRepository::buildSql);
+        List<String> actorIds = nconsts;
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int index = 1;
+            if ((shape & GENRE) != 0) {
+                ps.setString(index++, "%" + filter.genre() + "%");
+            }
+            if ((shape & FROM_YEAR) != 0) {
+                ps.setInt(index++, filter.fromYear());
+            }
+            if ((shape & TO_YEAR) != 0) {
+                ps.setInt(index++, filter.toYear());
+            }
+            if ((shape & ACTOR) != 0) {
+                ps.setArray(index++, con.createArrayOf("text", actorIds.toArray()));
+            }
+            if ((shape & AKA_LANGUAGE) != 0) {
+                ps.setString(index++, filter.language().toLowerCase(Locale.ROOT));
+            }
+            if ((shape & AKA_REGION) != 0) {
+                ps.setString(index++, filter.region().toUpperCase(Locale.ROOT));
+            }
+            ps.setInt(index, filter.limit());
+            return ps;
+        }, new ColumnMapRowMapper());
+    }
+
+    /**
+     * People whose name starts with {@code actor}, case-insensitively: exact name matches first, then
+     * by the total votes of their known-for titles, so the {@link #ACTOR_MATCH_LIMIT} cut keeps the
+     * people a caller most likely means. Ranking only runs over exact matches plus the first
+     * {@link #ACTOR_CANDIDATE_LIMIT} prefix matches, so a one-letter prefix stays an index range scan
+     * instead of scoring hundreds of thousands of names.
+     */
+    public List<String> findActorIds(String actor) {
+        String name = actor.trim().toLowerCase(Locale.ROOT);
+        return jdbcTemplate.queryForList("""
+            SELECT n.nconst
+            FROM (
+                SELECT nconst, primaryName, knownForTitles
+                FROM name_basics
+                WHERE lower(primaryName) = ?
+                UNION
+                (SELECT nconst, primaryName, knownForTitles
+                 FROM name_basics
+                 WHERE lower(primaryName) LIKE ?
+                 LIMIT ?)
+            ) n
+            LEFT JOIN LATERAL (
+                SELECT SUM(r.numVotes) AS votes
+                FROM unnest(string_to_array(n.knownForTitles, ',')) AS k(tconst)
+                JOIN title_ratings r ON r.tconst = k.tconst
+            ) known ON TRUE
+            ORDER BY lower(n.primaryName) = ? DESC, known.votes DESC NULLS LAST, n.nconst
+            LIMIT ?
+            """, String.class, name, escapeLike(name) + "%", ACTOR_CANDIDATE_LIMIT, name, ACTOR_MATCH_LIMIT);
+    }
+
+    private static int shapeOf(MovieFilter filter) {
+        int shape = 0;
+        if (hasText(filter.genre())) shape |= GENRE;
+        if (hasText(filter.actor())) shape |= ACTOR;
+        if (hasText(filter.language())) shape |= AKA_LANGUAGE;
+        if (hasText(filter.region())) shape |= AKA_REGION;
+        if (filter.fromYear() != null) shape |= FROM_YEAR;
+        if (filter.toYear() != null) shape |= TO_YEAR;
+        return shape;
+    }
+
+    private static String buildSql(int shape) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT t.tconst, t.primaryTitle, t.startYear, t.genres, r.averageRating
+            FROM title_basics t
+            JOIN title_ratings r ON t.tconst = r.tconst
+            WHERE TRUE
+            """);
+
+        if ((shape & GENRE) != 0) {
+            sql.append("AND t.genres ILIKE ?\n");
+        }
+        // startYear is TEXT; tables loaded before NULL handling was fixed may still hold a literal \N
+        if ((shape & FROM_YEAR) != 0) {
+            sql.append("AND CAST(NULLIF(t.startYear, '\\N') AS INTEGER) >= ?\n");
+        }
+        if ((shape & TO_YEAR) != 0) {
+            sql.append("AND CAST(NULLIF(t.startYear, '\\N') AS INTEGER) <= ?\n");
+        }
+        if ((shape & ACTOR) != 0) {
+            sql.append("AND EXISTS (SELECT 1 FROM title_principals p WHERE p.tconst = t.tconst AND p.nconst = ANY(?))\n");
+        }
+        if ((shape & (AKA_LANGUAGE | AKA_REGION)) != 0) {
+            sql.append("AND EXISTS (SELECT 1 FROM title_akas a WHERE a.titleId = t.tconst");
+            if ((shape & AKA_LANGUAGE) != 0) {
+                sql.append(" AND a.language = ?");
+            }
+            if ((shape & AKA_REGION) != 0) {
+                sql.append(" AND a.region = ?");
+            }
+            sql.append(")\n");
+        }
+
+        sql.append("ORDER BY r.averageRating DESC\nLIMIT ?");
+        return sql.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.imdb.repository;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +12,7 @@ public class MovieRepository {
 
     private final JdbcTemplate jdbcTemplate;
 
-    public MovieRepository(JdbcTemplate jdbcTemplate) {
+    public MovieRepository(@Qualifier("readJdbcTemplate") JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
 
@@ -0,0 +1,286 @@
+package com.example.imdb.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over normalized titles and names, ranked by vote count.
+ *
+ * <p>Keys are kept in one sorted array, so the keys matching a prefix form a contiguous range
+ * found by binary search. Short prefixes can match hundreds of thousands of keys, so every prefix
+ * whose range is larger than {@link #SCAN_LIMIT} gets its best entries precomputed at build time.
+ * A lookup therefore never scans more than {@code SCAN_LIMIT} keys.
+ */
+public final class AutocompleteIndex {
+
+    public static final int MAX_SUGGESTIONS = 32;
+    static final int SCAN_LIMIT = 1024;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public enum Kind { TITLE, NAME }
+
+    public record Suggestion(String id, String label, Kind kind, int votes) {
+    }
+
+    private final String[] keys;
+    private final int[] keyEntries;
+    private final String[] ids;
+    private final String[] labels;
+    private final Kind[] kinds;
+    private final int[] votes;
+    private final Map<String, int[]> heavyPrefixes;
+
+    private AutocompleteIndex(String[] keys, int[] keyEntries, String[] ids, String[] labels, Kind[] kinds, int[] votes) {
+        this.keys = keys;
+        this.keyEntries = keyEntries;
+        this.ids = ids;
+        this.labels = labels;
+        this.kinds = kinds;
+        this.votes = votes;
+        this.heavyPrefixes = new HashMap<>();
+        if (keys.length > 0) {
+            collectTop(0, keys.length, 0);
+        }
+    }
+
+    public static AutocompleteIndex empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Lower-cases, strips diacritics and collapses punctuation and whitespace into single spaces.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        int max = Math.min(limit, MAX_SUGGESTIONS);
+        if (prefix.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        int[] top = heavyPrefixes.get(prefix);
+        if (top == null) {
+            int lo = lowerBound(prefix);
+            int hi = lowerBound(prefix + Character.MAX_VALUE);
+            top = scanTop(lo, hi, max);
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(max, top.length));
+        for (int i = 0; i < top.length && i < max; i++) {
+            int entry = top[i];
+            suggestions.add(new Suggestion(ids[entry], labels[entry], kinds[entry], votes[entry]));
+        }
+        return suggestions;
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    public int entryCount() {
+        return ids.length;
+    }
+
+    /**
+     * Rough retained size in bytes, assuming compact (Latin-1) strings and compressed oops.
+     */
+    public long estimatedBytes() {
+        long bytes = 16L * 6 + 4L * keys.length * 2 + 4L * ids.length * 2;
+        for (String key : keys) {
+            bytes += 40 + key.length();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            bytes += 80 + ids[i].length() + labels[i].length();
+        }
+        for (int[] top : heavyPrefixes.values()) {
+            bytes += 64 + 4L * top.length;
+        }
+        return bytes;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the best entries of {@code [lo, hi)}, where all keys share their first {@code depth}
+     * characters, recording the result for every prefix whose range is too large to scan.
+     */
+    private int[] collectTop(int lo, int hi, int depth) {
+        if (hi - lo <= SCAN_LIMIT) {
+            return scanTop(lo, hi, MAX_SUGGESTIONS);
+        }
+
+        TopEntries top = new TopEntries(MAX_SUGGESTIONS);
+        int i = lo;
+        // Keys that end exactly at this depth sort before their extensions
+        while (i < hi && keys[i].length() == depth) {
+            top.offer(keyEntries[i++]);
+        }
+        while (i < hi) {
+            char c = keys[i].charAt(depth);
+            int end = childEnd(i, hi, depth, c);
+            for (int entry : collectTop(i, end, depth + 1)) {
+                top.offer(entry);
+            }
+            i = end;
+        }
+
+        int[] result = top.toArray();
+        if (depth > 0) {
+            heavyPrefixes.put(keys[lo].substring(0, depth), result);
+        }
+        return result;
+    }
+
+    private int childEnd(int from, int hi, int depth, char c) {
+        int lo = from;
+        int end = hi;
+        while (lo < end) {
+            int mid = (lo + end) >>> 1;
+            if (keys[mid].charAt(depth) <= c) {
+                lo = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int[] scanTop(int lo, int hi, int limit) {
+        TopEntries top = new TopEntries(limit);
+        for (int i = lo; i < hi; i++) {
+            top.offer(keyEntries[i]);
+        }
+        return top.toArray();
+    }
+
+    /**
+     * Bounded, de-duplicated list of entries ordered by votes descending.
+     */
+    private final class TopEntries {
+        private final int[] entries;
+        private int size;
+
+        TopEntries(int capacity) {
+            this.entries = new int[capacity];
+        }
+
+        void offer(int entry) {
+            if (entries.length == 0) {
+                return;
+            }
+            if (size == entries.length && votes[entry] <= votes[entries[size - 1]]) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (entries[i] == entry) {
+                    return;
+                }
+            }
+            int pos = size < entries.length ? size++ : size - 1;
+            while (pos > 0 && votes[entries[pos - 1]] < votes[entry]) {
+                entries[pos] = entries[pos - 1];
+                pos--;
+            }
+            entries[pos] = entry;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(entries, size);
+        }
+    }
+
+    public static final class Builder {
+        private final List<String> ids = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<Kind> kinds = new ArrayList<>();
+        private final List<Integer> votes = new ArrayList<>();
+        private final Map<String, Integer> entryById = new HashMap<>();
+        private final List<KeyRef> keyRefs = new ArrayList<>();
+
+        private record KeyRef(String key, int entry) {
+        }
+
+        /**
+         * Adds an entry searchable by {@code label}. Adding the same id again is a no-op.
+         */
+        public Builder addEntry(String id, String label, Kind kind, int voteCount) {
+            if (id == null || entryById.containsKey(id)) {
+                return this;
+            }
+            int entry = ids.size();
+            entryById.put(id, entry);
+            ids.add(id);
+            labels.add(label == null ? "" : label);
+            kinds.add(kind);
+            votes.add(voteCount);
+            return addKey(id, label);
+        }
+
+        /**
+         * Adds an alternative searchable text for an entry added earlier; unknown ids are ignored.
+         */
+        public Builder addKey(String id, String text) {
+            Integer entry = entryById.get(id);
+            String key = normalize(text);
+            if (entry != null && !key.isEmpty()) {
+                keyRefs.add(new KeyRef(key, entry));
+            }
+            return this;
+        }
+
+        public AutocompleteIndex build() {
+            keyRefs.sort(Comparator.comparing(KeyRef::key).thenComparingInt(KeyRef::entry));
+
+            List<KeyRef> unique = new ArrayList<>(keyRefs.size());
+            KeyRef previous = null;
+            for (KeyRef ref : keyRefs) {
+                if (previous == null || !previous.equals(ref)) {
+                    unique.add(ref);
+                }
+                previous = ref;
+            }
+
+            String[] keys = new String[unique.size()];
+            int[] keyEntries = new int[unique.size()];
+            for (int i = 0; i < unique.size(); i++) {
+                keys[i] = unique.get(i).key();
+                keyEntries[i] = unique.get(i).entry();
+            }
+            return new AutocompleteIndex(
+                    keys,
+                    keyEntries,
+                    ids.toArray(String[]::new),
+                    labels.toArray(String[]::new),
+                    kinds.toArray(Kind[]::new),
+                    votes.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
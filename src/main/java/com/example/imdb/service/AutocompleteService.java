@@ -0,0 +1,135 @@
+package com.example.imdb.service;
+
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.service.AutocompleteIndex.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Serves typeahead suggestions from an in-memory {@link AutocompleteIndex}. The index is built
+ * once loading completes and rebuilt on refresh; the previous index keeps serving meanwhile.
+ */
+@Service
+public class AutocompleteService extends PostLoadStage {
+
+    public static final String INDEX_NAME = "autocomplete_index";
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+    private static final int FETCH_SIZE = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxTitles;
+    private final int maxNames;
+    private final int minVotes;
+
+    private volatile AutocompleteIndex index = AutocompleteIndex.empty();
+
+    public AutocompleteService(@Qualifier("backgroundJdbcTemplate") JdbcTemplate jdbcTemplate,
+                               TableReadiness readiness,
+                               @Value("${imdb.autocomplete.max-titles:500000}") int maxTitles,
+                               @Value("${imdb.autocomplete.max-names:500000}") int maxNames,
+                               @Value("${imdb.autocomplete.min-votes:20}") int minVotes) {
+        super(INDEX_NAME, readiness, "title_basics", "title_ratings", "title_akas", "name_basics");
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxTitles = maxTitles;
+        this.maxNames = maxNames;
+        this.minVotes = minVotes;
+    }
+
+    public List<AutocompleteIndex.Suggestion> suggest(String query, int limit) {
+        return index.suggest(query, limit);
+    }
+
+    @Override
+    protected void build() {
+        AutocompleteIndex.Builder builder = new AutocompleteIndex.Builder();
+
+        stream("""
+            SELECT t.tconst, t.primaryTitle, t.originalTitle, r.numVotes
+            FROM title_basics t
+            JOIN title_ratings r ON t.tconst = r.tconst
+            WHERE r.numVotes >= ?
+            ORDER BY r.numVotes DESC, t.tconst
+            LIMIT ?
+            """, rs -> {
+            String tconst = rs.getString(1);
+            builder.addEntry(tconst, rs.getString(2), Kind.TITLE, rs.getInt(4));
+            builder.addKey(tconst, rs.getString(3));
+        }, minVotes, maxTitles);
+
+        // Alternative titles for exactly the top-N set picked above (same filter, order and tie-break)
+        stream("""
+            WITH top_titles AS (
+                SELECT t.tconst
+                FROM title_basics t
+                JOIN title_ratings r ON t.tconst = r.tconst
+                WHERE r.numVotes >= ?
+                ORDER BY r.numVotes DESC, t.tconst
+                LIMIT ?
+            )
+            SELECT a.titleId, a.title
+            FROM top_titles tt
+            JOIN title_akas a ON a.titleId = tt.tconst
+            """, rs -> {
+            builder.addKey(rs.getString(1), rs.getString(2));
+        }, minVotes, maxTitles);
+
+        // People are ranked by the votes of the titles they are known for
+        stream("""
+            SELECT n.nconst, n.primaryName, SUM(r.numVotes) AS votes
+            FROM name_basics n
+            CROSS JOIN LATERAL unnest(string_to_array(n.knownForTitles, ',')) AS k(tconst)
+            JOIN title_ratings r ON k.tconst = r.tconst
+            GROUP BY n.nconst, n.primaryName
+            HAVING SUM(r.numVotes) >= ?
+            ORDER BY votes DESC
+            LIMIT ?
+            """, rs -> {
+            builder.addEntry(rs.getString(1), rs.getString(2), Kind.NAME, (int) Math.min(Integer.MAX_VALUE, rs.getLong(3)));
+        }, minVotes, maxNames);
+
+        AutocompleteIndex built = builder.build();
+        index = built;
+        log.info("Autocomplete index built: {} entries, {} keys, ~{} MB",
+                built.entryCount(), built.keyCount(), built.estimatedBytes() / (1024 * 1024));
+    }
+
+    /**
+     * Streams a query through a server-side cursor: pgjdbc only honours fetch size outside autocommit.
+     */
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    ps.setObject(i + 1, args[i]);
+                }
+                ps.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        handler.processRow(rs);
+                    }
+                }
+                con.commit();
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    public AutocompleteIndex currentIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,489 @@
+package com.example.imdb.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Immutable person–title bipartite graph in compressed sparse row form.
+ *
+ * <p>IMDb ids are stored by their numeric part ({@code nm0000158} is 158), and each person
+ * and title gets a dense index into sorted id arrays. Both directions are kept: the titles
+ * of every person and the people of every title, each as one offsets array and one flat
+ * adjacency array sorted within each row.
+ */
+public final class CollaborationGraph {
+
+    public record CoStar(int personId, int sharedTitles) {
+    }
+
+    /**
+     * {@code titleIds[i]} connects {@code personIds[i]} and {@code personIds[i + 1]}.
+     */
+    public record Path(int[] personIds, int[] titleIds) {
+    }
+
+    public enum PathStatus {
+        FOUND,
+        /** The search exhausted one side: the people are not connected. */
+        NOT_CONNECTED,
+        /** The depth or visited limit stopped the search before it could decide. */
+        LIMIT_REACHED
+    }
+
+    /**
+     * {@code path} is only set when {@code status} is {@link PathStatus#FOUND}.
+     */
+    public record PathResult(PathStatus status, Path path) {
+    }
+
+    private final int[] personIds;
+    private final int[] titleIds;
+    private final int[] personOffsets;
+    private final int[] personTitles;
+    private final int[] titleOffsets;
+    private final int[] titlePersons;
+    // Path searches run on a fixed set of scratches allocated with the graph; the semaphore caps concurrency to match
+    private final Semaphore searchSlots;
+    private final ConcurrentLinkedQueue<SearchScratch> scratches = new ConcurrentLinkedQueue<>();
+    private final int scratchCount;
+
+    private CollaborationGraph(int[] personIds, int[] titleIds, int[] personOffsets, int[] personTitles,
+                               int[] titleOffsets, int[] titlePersons, int scratchCount) {
+        this.personIds = personIds;
+        this.titleIds = titleIds;
+        this.personOffsets = personOffsets;
+        this.personTitles = personTitles;
+        this.titleOffsets = titleOffsets;
+        this.titlePersons = titlePersons;
+        this.scratchCount = scratchCount;
+        this.searchSlots = new Semaphore(scratchCount);
+        for (int i = 0; i < scratchCount; i++) {
+            scratches.add(new SearchScratch(personIds.length, titleIds.length));
+        }
+    }
+
+    public static CollaborationGraph empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Numeric part of an IMDb id such as {@code tt0111161}, or -1 if it is not one.
+     */
+    public static int parseId(String imdbId) {
+        if (imdbId == null || imdbId.length() < 3 || imdbId.length() > 12) {
+            return -1;
+        }
+        try {
+            long value = Long.parseLong(imdbId.substring(2));
+            return value >= 0 && value <= Integer.MAX_VALUE ? (int) value : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static String personKey(int personId) {
+        return String.format("nm%07d", personId);
+    }
+
+    public static String titleKey(int titleId) {
+        return String.format("tt%07d", titleId);
+    }
+
+    public int personCount() {
+        return personIds.length;
+    }
+
+    public int titleCount() {
+        return titleIds.length;
+    }
+
+    public int edgeCount() {
+        return personTitles.length;
+    }
+
+    /**
+     * Adjacency arrays plus the pre-allocated search scratches; frontier buffers, which grow with
+     * the widest layer a search has seen, are not included.
+     */
+    public long memoryBytes() {
+        long ints = (long) personIds.length + titleIds.length + personOffsets.length + personTitles.length
+                + titleOffsets.length + titlePersons.length;
+        return ints * Integer.BYTES + scratchBytes();
+    }
+
+    public long scratchBytes() {
+        // Per side: stamp, parent and title ints plus a depth byte per person, one stamp int per title
+        long perSide = 13L * personIds.length + 4L * titleIds.length;
+        return scratchCount * 2 * perSide;
+    }
+
+    public int searchSlots() {
+        return scratchCount;
+    }
+
+    public boolean containsPerson(int personId) {
+        return Arrays.binarySearch(personIds, personId) >= 0;
+    }
+
+    /**
+     * Ids of the titles both people appear in, ascending.
+     */
+    public int[] sharedTitles(int personA, int personB) {
+        int a = Arrays.binarySearch(personIds, personA);
+        int b = Arrays.binarySearch(personIds, personB);
+        if (a < 0 || b < 0) {
+            return new int[0];
+        }
+
+        int i = personOffsets[a];
+        int j = personOffsets[b];
+        int endA = personOffsets[a + 1];
+        int endB = personOffsets[b + 1];
+        int[] shared = new int[Math.min(endA - i, endB - j)];
+        int size = 0;
+        while (i < endA && j < endB) {
+            int cmp = Integer.compare(personTitles[i], personTitles[j]);
+            if (cmp == 0) {
+                shared[size++] = titleIds[personTitles[i]];
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(shared, size);
+    }
+
+    /**
+     * People who share the most titles with {@code personId}, most shared first.
+     */
+    public List<CoStar> topCoStars(int personId, int limit) {
+        int p = Arrays.binarySearch(personIds, personId);
+        if (p < 0 || limit <= 0) {
+            return List.of();
+        }
+
+        int total = 0;
+        for (int i = personOffsets[p]; i < personOffsets[p + 1]; i++) {
+            int t = personTitles[i];
+            total += titleOffsets[t + 1] - titleOffsets[t];
+        }
+        int[] coStars = new int[total];
+        int size = 0;
+        for (int i = personOffsets[p]; i < personOffsets[p + 1]; i++) {
+            int t = personTitles[i];
+            for (int k = titleOffsets[t]; k < titleOffsets[t + 1]; k++) {
+                if (titlePersons[k] != p) {
+                    coStars[size++] = titlePersons[k];
+                }
+            }
+        }
+        Arrays.sort(coStars, 0, size);
+
+        // Run-length count, then keep the best runs; pack (count, -person) so one long sort orders both
+        List<Long> runs = new ArrayList<>();
+        for (int i = 0; i < size; ) {
+            int j = i;
+            while (j < size && coStars[j] == coStars[i]) {
+                j++;
+            }
+            runs.add(((long) (j - i) << 32) | (Integer.MAX_VALUE - coStars[i]));
+            i = j;
+        }
+        runs.sort((x, y) -> Long.compare(y, x));
+
+        List<CoStar> result = new ArrayList<>(Math.min(limit, runs.size()));
+        for (int i = 0; i < runs.size() && i < limit; i++) {
+            long run = runs.get(i);
+            int dense = Integer.MAX_VALUE - (int) (run & 0xFFFFFFFFL);
+            result.add(new CoStar(personIds[dense], (int) (run >>> 32)));
+        }
+        return result;
+    }
+
+    /**
+     * Shortest chain of shared titles between two people by bidirectional breadth-first search.
+     * Reports {@link PathStatus#LIMIT_REACHED} rather than "not connected" when {@code maxDepth} titles
+     * or {@code maxVisited} people stop the search first. Callers beyond the number of search slots
+     * wait for a slot.
+     */
+    public PathResult shortestPath(int fromPerson, int toPerson, int maxDepth, int maxVisited) {
+        int from = Arrays.binarySearch(personIds, fromPerson);
+        int to = Arrays.binarySearch(personIds, toPerson);
+        if (from < 0 || to < 0) {
+            return new PathResult(PathStatus.NOT_CONNECTED, null);
+        }
+        if (from == to) {
+            return new PathResult(PathStatus.FOUND, new Path(new int[]{fromPerson}, new int[0]));
+        }
+
+        searchSlots.acquireUninterruptibly();
+        SearchScratch scratch = scratches.poll();
+        try {
+            return search(scratch, from, to, Math.min(maxDepth, Byte.MAX_VALUE), maxVisited);
+        } finally {
+            scratches.offer(scratch);
+            searchSlots.release();
+        }
+    }
+
+    private PathResult search(SearchScratch scratch, int from, int to, int maxDepth, int maxVisited) {
+        int epoch = scratch.nextEpoch();
+        Side forward = scratch.forward;
+        Side backward = scratch.backward;
+        forward.start(from, epoch);
+        backward.start(to, epoch);
+
+        int depth = 0;
+        while (forward.frontierSize > 0 && backward.frontierSize > 0 && depth < maxDepth) {
+            boolean expandForward = forward.frontierSize <= backward.frontierSize;
+            Side side = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+
+            // Expand one whole layer, then pick the meeting point with the shortest total length
+            int meet = -1;
+            int best = Integer.MAX_VALUE;
+            for (int f = 0; f < side.frontierSize; f++) {
+                int u = side.frontier[f];
+                int layer = side.depth[u] + 1;
+                for (int i = personOffsets[u]; i < personOffsets[u + 1]; i++) {
+                    int t = personTitles[i];
+                    if (side.titleStamp[t] == epoch) {
+                        continue;
+                    }
+                    side.titleStamp[t] = epoch;
+                    for (int k = titleOffsets[t]; k < titleOffsets[t + 1]; k++) {
+                        int v = titlePersons[k];
+                        if (side.stamp[v] == epoch) {
+                            continue;
+                        }
+                        side.visit(v, u, t, layer, epoch);
+                        if (other.stamp[v] == epoch && layer + other.depth[v] < best) {
+                            best = layer + other.depth[v];
+                            meet = v;
+                        }
+                    }
+                }
+            }
+            if (meet >= 0) {
+                return new PathResult(PathStatus.FOUND, buildPath(meet, forward, backward));
+            }
+            if (forward.visited + backward.visited > maxVisited) {
+                return new PathResult(PathStatus.LIMIT_REACHED, null);
+            }
+            side.advance();
+            depth++;
+        }
+        // An exhausted side proves there is no path; otherwise the depth limit ended the search
+        return forward.frontierSize == 0 || backward.frontierSize == 0
+                ? new PathResult(PathStatus.NOT_CONNECTED, null)
+                : new PathResult(PathStatus.LIMIT_REACHED, null);
+    }
+
+    private Path buildPath(int meet, Side forward, Side backward) {
+        int forwardLength = forward.depth[meet];
+        int backwardLength = backward.depth[meet];
+        int[] people = new int[forwardLength + backwardLength + 1];
+        int[] titles = new int[forwardLength + backwardLength];
+
+        int p = meet;
+        for (int i = forwardLength; i > 0; i--) {
+            people[i] = personIds[p];
+            titles[i - 1] = titleIds[forward.title[p]];
+            p = forward.parent[p];
+        }
+        people[0] = personIds[p];
+
+        p = meet;
+        for (int i = forwardLength; i < titles.length; i++) {
+            titles[i] = titleIds[backward.title[p]];
+            p = backward.parent[p];
+            people[i + 1] = personIds[p];
+        }
+        return new Path(people, titles);
+    }
+
+    /**
+     * Reusable per-search state. Arrays are indexed by dense person and title index; an entry only
+     * counts when its stamp equals the current epoch, so nothing is cleared between searches.
+     */
+    private static final class SearchScratch {
+        final Side forward;
+        final Side backward;
+        int epoch;
+
+        SearchScratch(int persons, int titles) {
+            forward = new Side(persons, titles);
+            backward = new Side(persons, titles);
+        }
+
+        int nextEpoch() {
+            if (epoch == Integer.MAX_VALUE) {
+                forward.clear();
+                backward.clear();
+                epoch = 0;
+            }
+            return ++epoch;
+        }
+    }
+
+    private static final class Side {
+        final int[] stamp;
+        final int[] parent;
+        final int[] title;
+        final byte[] depth;
+        final int[] titleStamp;
+        int[] frontier = new int[1024];
+        int[] next = new int[1024];
+        int frontierSize;
+        int nextSize;
+        int visited;
+
+        Side(int persons, int titles) {
+            stamp = new int[persons];
+            parent = new int[persons];
+            title = new int[persons];
+            depth = new byte[persons];
+            titleStamp = new int[titles];
+        }
+
+        void start(int person, int epoch) {
+            frontierSize = 0;
+            nextSize = 0;
+            visited = 0;
+            visit(person, -1, -1, 0, epoch);
+            advance();
+        }
+
+        void visit(int person, int parentPerson, int viaTitle, int layer, int epoch) {
+            stamp[person] = epoch;
+            parent[person] = parentPerson;
+            title[person] = viaTitle;
+            depth[person] = (byte) layer;
+            visited++;
+            if (nextSize == next.length) {
+                next = Arrays.copyOf(next, nextSize * 2);
+            }
+            next[nextSize++] = person;
+        }
+
+        void advance() {
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            nextSize = 0;
+        }
+
+        void clear() {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(titleStamp, 0);
+        }
+    }
+
+    /**
+     * Collects (title, person) edges as primitive pairs; duplicates are removed by {@link #build()}.
+     */
+    public static final class Builder {
+        private int[] edgeTitles = new int[1 << 16];
+        private int[] edgePersons = new int[1 << 16];
+        private int size;
+        private int searchSlots = 1;
+
+        /**
+         * Number of path searches that can run at once; each slot pre-allocates its own scratch arrays.
+         */
+        public Builder searchSlots(int searchSlots) {
+            this.searchSlots = Math.max(1, searchSlots);
+            return this;
+        }
+
+        public Builder addEdge(int titleId, int personId) {
+            if (titleId < 0 || personId < 0) {
+                return this;
+            }
+            if (size == edgeTitles.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, edgeTitles.length * 2L);
+                edgeTitles = Arrays.copyOf(edgeTitles, capacity);
+                edgePersons = Arrays.copyOf(edgePersons, capacity);
+            }
+            edgeTitles[size] = titleId;
+            edgePersons[size] = personId;
+            size++;
+            return this;
+        }
+
+        public CollaborationGraph build() {
+            int[] personIds = sortedUnique(edgePersons, size);
+            int[] titleIds = sortedUnique(edgeTitles, size);
+
+            // Rewrite raw ids to dense indexes in place
+            for (int i = 0; i < size; i++) {
+                edgePersons[i] = Arrays.binarySearch(personIds, edgePersons[i]);
+                edgeTitles[i] = Arrays.binarySearch(titleIds, edgeTitles[i]);
+            }
+
+            int[] personOffsets = new int[personIds.length + 1];
+            int[] personTitles = group(edgePersons, edgeTitles, size, personOffsets);
+            int[] titleOffsets = new int[titleIds.length + 1];
+            int[] titlePersons = group(edgeTitles, edgePersons, size, titleOffsets);
+            edgeTitles = null;
+            edgePersons = null;
+
+            return new CollaborationGraph(personIds, titleIds, personOffsets, personTitles, titleOffsets, titlePersons,
+                    searchSlots);
+        }
+
+        private static int[] sortedUnique(int[] values, int length) {
+            int[] sorted = Arrays.copyOf(values, length);
+            Arrays.sort(sorted);
+            int unique = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[unique++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, unique);
+        }
+
+        /**
+         * Counting sort of edges by {@code keys}; fills {@code offsets} and returns the sorted,
+         * de-duplicated adjacency of {@code values}. {@code offsets} is rewritten after de-duplication.
+         */
+        private static int[] group(int[] keys, int[] values, int length, int[] offsets) {
+            for (int i = 0; i < length; i++) {
+                offsets[keys[i] + 1]++;
+            }
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            int[] cursor = Arrays.copyOf(offsets, offsets.length - 1);
+            int[] adjacency = new int[length];
+            for (int i = 0; i < length; i++) {
+                adjacency[cursor[keys[i]]++] = values[i];
+            }
+
+            int write = 0;
+            int rowStart = 0;
+            for (int row = 0; row < offsets.length - 1; row++) {
+                int start = offsets[row];
+                int end = offsets[row + 1];
+                Arrays.sort(adjacency, start, end);
+                offsets[row] = rowStart;
+                for (int i = start; i < end; i++) {
+                    if (i == start || adjacency[i] != adjacency[i - 1]) {
+                        adjacency[write++] = adjacency[i];
+                    }
+                }
+                rowStart = write;
+            }
+            offsets[offsets.length - 1] = write;
+            return write == length ? adjacency : Arrays.copyOf(adjacency, write);
+        }
+    }
+}
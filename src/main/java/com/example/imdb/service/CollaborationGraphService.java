@@ -0,0 +1,214 @@
+package com.example.imdb.service;
+
+import com.example.imdb.config.TableReadiness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the in-memory {@link CollaborationGraph} from title_principals after loading and answers
+ * shared-filmography, co-star and degrees-of-separation queries from it.
+ */
+@Service
+public class CollaborationGraphService extends PostLoadStage {
+
+    public static final String GRAPH_NAME = "collaboration_graph";
+
+    private static final Logger log = LoggerFactory.getLogger(CollaborationGraphService.class);
+
+    private final JdbcTemplate backgroundJdbcTemplate;
+    private final JdbcTemplate readJdbcTemplate;
+    private final ImdbService imdbService;
+    private final List<String> categories;
+    private final int maxDepth;
+    private final int maxVisited;
+    private final int searchSlots;
+
+    private volatile CollaborationGraph graph = CollaborationGraph.empty();
+    private volatile long buildMillis;
+
+    public CollaborationGraphService(@Qualifier("backgroundJdbcTemplate") JdbcTemplate backgroundJdbcTemplate,
+                                     @Qualifier("readJdbcTemplate") JdbcTemplate readJdbcTemplate,
+                                     TableReadiness readiness,
+                                     ImdbService imdbService,
+                                     @Value("${imdb.graph.categories:actor,actress,self}") List<String> categories,
+                                     @Value("${imdb.graph.max-depth:6}") int maxDepth,
+                                     @Value("${imdb.graph.max-visited:2000000}") int maxVisited,
+                                     @Value("${imdb.graph.search-slots:2}") int searchSlots) {
+        super(GRAPH_NAME, readiness, "title_principals");
+        this.backgroundJdbcTemplate = backgroundJdbcTemplate;
+        this.readJdbcTemplate = readJdbcTemplate;
+        this.imdbService = imdbService;
+        this.categories = categories;
+        this.maxDepth = maxDepth;
+        this.maxVisited = maxVisited;
+        this.searchSlots = searchSlots;
+    }
+
+    @Override
+    protected void build() {
+        long start = System.nanoTime();
+        CollaborationGraph.Builder builder = new CollaborationGraph.Builder().searchSlots(searchSlots);
+
+        // Stream with a cursor: pgjdbc only honours fetch size outside autocommit
+        backgroundJdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(
+                    "SELECT tconst, nconst FROM title_principals WHERE category = ANY(?)")) {
+                ps.setArray(1, con.createArrayOf("text", categories.toArray()));
+                ps.setFetchSize(50_000);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        builder.addEdge(CollaborationGraph.parseId(rs.getString(1)),
+                                CollaborationGraph.parseId(rs.getString(2)));
+                    }
+                }
+                con.commit();
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+
+        CollaborationGraph built = builder.build();
+        graph = built;
+        buildMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Collaboration graph built: {} people, {} titles, {} edges, {} MB in {} ms",
+                built.personCount(), built.titleCount(), built.edgeCount(),
+                built.memoryBytes() / (1024 * 1024), buildMillis);
+    }
+
+    public Map<String, Object> stats() {
+        CollaborationGraph current = graph;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("people", current.personCount());
+        stats.put("titles", current.titleCount());
+        stats.put("edges", current.edgeCount());
+        stats.put("memoryBytes", current.memoryBytes());
+        stats.put("searchScratchBytes", current.scratchBytes());
+        stats.put("searchSlots", current.searchSlots());
+        stats.put("buildMillis", buildMillis);
+        return stats;
+    }
+
+    // 🔹 Titles featuring both people
+    public Map<String, Object> sharedFilmography(String nconstA, String nconstB) {
+        long start = System.nanoTime();
+        int[] titleIds = graph.sharedTitles(CollaborationGraph.parseId(nconstA), CollaborationGraph.parseId(nconstB));
+        long graphMicros = (System.nanoTime() - start) / 1_000;
+
+        List<String> tconsts = Arrays.stream(titleIds).mapToObj(CollaborationGraph::titleKey).toList();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("people", findNames(List.of(nconstA, nconstB)));
+        response.put("titles", tconsts.isEmpty()
+                ? List.of()
+                : imdbService.lookupBatch(tconsts, false, false, false).get("results"));
+        response.put("graphMicros", graphMicros);
+        return response;
+    }
+
+    // 🔹 People who appear most often alongside one person
+    public Map<String, Object> topCoStars(String nconst, int limit) {
+        long start = System.nanoTime();
+        List<CollaborationGraph.CoStar> coStars = graph.topCoStars(CollaborationGraph.parseId(nconst), limit);
+        long graphMicros = (System.nanoTime() - start) / 1_000;
+
+        Map<String, String> names = findNames(coStars.stream()
+                .map(c -> CollaborationGraph.personKey(c.personId()))
+                .toList());
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (CollaborationGraph.CoStar coStar : coStars) {
+            String key = CollaborationGraph.personKey(coStar.personId());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("nconst", key);
+            row.put("primaryName", names.get(key));
+            row.put("sharedTitles", coStar.sharedTitles());
+            results.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("nconst", nconst);
+        response.put("coStars", results);
+        response.put("graphMicros", graphMicros);
+        return response;
+    }
+
+    // 🔹 Degrees of separation
+    public Map<String, Object> shortestPath(String fromNconst, String toNconst) {
+        long start = System.nanoTime();
+        CollaborationGraph.PathResult result = graph.shortestPath(
+                CollaborationGraph.parseId(fromNconst), CollaborationGraph.parseId(toNconst), maxDepth, maxVisited);
+        long graphMicros = (System.nanoTime() - start) / 1_000;
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("from", fromNconst);
+        response.put("to", toNconst);
+        // LIMIT_REACHED means the search was cut short, not that the two people are unconnected
+        response.put("status", result.status().name());
+        CollaborationGraph.Path path = result.path();
+        if (path == null) {
+            response.put("degrees", null);
+            response.put("path", List.of());
+            response.put("graphMicros", graphMicros);
+            return response;
+        }
+
+        List<String> people = Arrays.stream(path.personIds()).mapToObj(CollaborationGraph::personKey).toList();
+        List<String> titles = Arrays.stream(path.titleIds()).mapToObj(CollaborationGraph::titleKey).toList();
+        Map<String, String> names = findNames(people);
+        Map<String, String> titleNames = findTitles(titles);
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (int i = 0; i < people.size(); i++) {
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("nconst", people.get(i));
+            step.put("primaryName", names.get(people.get(i)));
+            if (i < titles.size()) {
+                step.put("viaTconst", titles.get(i));
+                step.put("viaTitle", titleNames.get(titles.get(i)));
+            }
+            steps.add(step);
+        }
+        response.put("degrees", titles.size());
+        response.put("path", steps);
+        response.put("graphMicros", graphMicros);
+        return response;
+    }
+
+    private Map<String, String> findNames(List<String> nconsts) {
+        return findLabels("SELECT nconst, primaryName FROM name_basics WHERE nconst = ANY(?)", nconsts);
+    }
+
+    private Map<String, String> findTitles(List<String> tconsts) {
+        return findLabels("SELECT tconst, primaryTitle FROM title_basics WHERE tconst = ANY(?)", tconsts);
+    }
+
+    private Map<String, String> findLabels(String sql, List<String> ids) {
+        Map<String, String> labels = new HashMap<>();
+        if (ids.isEmpty()) {
+            return labels;
+        }
+        readJdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", ids.toArray()));
+            return ps;
+        }, rs -> {
+            labels.put(rs.getString(1), rs.getString(2));
+        });
+        return labels;
+    }
+}
@@ -1,46 +1,53 @@
 package com.example.imdb.service;
 
+import com.example.imdb.repository.MovieFilterRepository;
+import com.example.imdb.repository.MovieFilterRepository.MovieFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
-import static org.apache.commons.lang3.ArrayUtils.toArray;
+import java.util.Objects;
 
 @Service
 public class ImdbService {
 
     private final JdbcTemplate jdbcTemplate;
     private final OmdbClient omdbClient;
+    private final MovieFilterRepository movieFilterRepository;
 
-    public ImdbService(JdbcTemplate jdbcTemplate, OmdbClient omdbClient) {
+    public ImdbService(@Qualifier("readJdbcTemplate") JdbcTemplate jdbcTemplate,
+                       OmdbClient omdbClient,
+                       MovieFilterRepository movieFilterRepository) {
         this.jdbcTemplate = jdbcTemplate;
         this.omdbClient = omdbClient;
+        this.movieFilterRepository = movieFilterRepository;
     }
 
-    // 🔹 Utility method to add plot + poster
+    // 🔹 Utility method to add plot + poster, fetching all titles in one batch
     private List<Map<String, Object>> enrichWithOmdb(List<Map<String, Object>> movies) {
+        List<String> imdbIds = movies.stream()
+                .map(m -> m.get("tconst"))
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .toList();
+        Map<String, Map<String, Object>> details = omdbClient.fetchMovieDetails(imdbIds);
+
         movies.forEach(m -> {
-            try {
-                Object tconst = m.get("tconst");
-                if (tconst == null) {
-                    m.put("plot", "Plot not available");
-                    m.put("poster", "");
-                    return;
-                }
-
-                String imdbId = tconst.toString();
-                Map<String, Object> omdbData = omdbClient.fetchMovieDetails(imdbId);
-
-                if (omdbData != null) {
-                    m.put("plot", omdbData.getOrDefault("Plot", "Plot not available"));
-                    m.put("poster", omdbData.getOrDefault("Poster", ""));
-                } else {
-                    m.put("plot", "Plot not available");
-                    m.put("poster", "");
-                }
-            } catch (Exception e) {
+            Object tconst = m.get("tconst");
+            Map<String, Object> omdbData = tconst == null ? null : details.get(tconst.toString());
+
+            if (omdbData != null) {
+                m.put("plot", omdbData.getOrDefault("Plot", "Plot not available"));
+                m.put("poster", omdbData.getOrDefault("Poster", ""));
+            } else {
                 m.put("plot", "Plot not available");
                 m.put("poster", "");
             }
@@ -99,58 +106,12 @@ public class ImdbService {
     public List<Map<String, Object>> filterMovies(String actor,
                                                   String genre,
                                                   String language,
-                                                  String fromYear,
-                                                  String toYear,
+                                                  String region,
+                                                  Integer fromYear,
+                                                  Integer toYear,
                                                   int limit) {
-        StringBuilder sql = new StringBuilder("""
-            SELECT t.tconst, t.primaryTitle, t.startYear, t.genres, r.averageRating
-            FROM title_basics t
-            JOIN title_ratings r ON t.tconst = r.tconst
-            """);
-
-        if (actor != null && !actor.isEmpty()) {
-            sql.append("JOIN title_principals p ON t.tconst = p.tconst ")
-                    .append("JOIN name_basics n ON p.nconst = n.nconst ");
-        }
-
-        sql.append("WHERE 1=1 ");
-
-        new Object() {
-            void addCondition(StringBuilder s, String column, Object value) {
-                if (value != null && !value.toString().isEmpty()) {
-                    s.append("AND ").append(column).append(" ILIKE ? ");
-                }
-            }
-        }.addCondition(sql, "t.genres", genre);
-
-        if (actor != null && !actor.isEmpty()) {
-            sql.append("AND n.primaryName ILIKE ? ");
-        }
-        if (language != null && !language.isEmpty()) {
-            sql.append("AND t.languages ILIKE ? ");
-        }
-        if (fromYear != null && !fromYear.isEmpty()) {
-            sql.append("AND t.startYear >= ? ");
-        }
-        if (toYear != null && !toYear.isEmpty()) {
-            sql.append("AND t.startYear <= ? ");
-        }
-
-        sql.append("ORDER BY r.averageRating DESC LIMIT ?");
-
-        // Collect parameters in order
-        new java.util.ArrayList<Object>() {{
-            if (genre != null && !genre.isEmpty()) add("%" + genre + "%");
-            if (actor != null && !actor.isEmpty()) add("%" + actor + "%");
-            if (language != null && !language.isEmpty()) add("%" + language + "%");
-            if (fromYear != null && !fromYear.isEmpty()) add(fromYear);
-            if (toYear != null && !toYear.isEmpty()) add(toYear);
-            add(limit);
-        }};
-
-        Object[] params = toArray();
-
-        List<Map<String, Object>> movies = jdbcTemplate.queryForList(sql.toString(), params);
+        List<Map<String, Object>> movies = movieFilterRepository.filter(
+                new MovieFilter(actor, genre, language, region, fromYear, toYear, limit));
         return enrichWithOmdb(movies);
     }
     public List<Map<String, Object>> getTopMoviesByActorWithPlot(String actor, int limit) {
@@ -169,21 +130,78 @@ public class ImdbService {
         """;
         String actorParam = "%" + actor + "%";
         List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, actorParam, limit);
+        return enrichWithOmdb(results);
+    }
+
+    // 🔹 Batch lookup by tconst, results in request order
+    public Map<String, Object> lookupBatch(List<String> tconsts,
+                                           boolean includeCrew,
+                                           boolean includePrincipals,
+                                           boolean withPlot) {
+        List<String> ids = tconsts.stream().filter(Objects::nonNull).distinct().toList();
 
-        // 🔹 Enrich each result with OMDb plot
-        results.forEach(movie -> {
-            String imdbId = (String) movie.get("tconst");
-            try {
-                Map<String, Object> omdbData = omdbClient.fetchMovieDetails(imdbId);
-                if (omdbData != null && omdbData.containsKey("Plot")) {
-                    movie.put("plot", omdbData.get("Plot"));
-                    movie.put("poster", omdbData.get("Poster"));
-                }
-            } catch (Exception e) {
-                movie.put("plot", "Plot not available");
+        StringBuilder sql = new StringBuilder("""
+            SELECT t.tconst, t.titleType, t.primaryTitle, t.originalTitle, t.startYear, t.endYear,
+                   t.runtimeMinutes, t.genres, r.averageRating, r.numVotes
+            """);
+        if (includeCrew) {
+            sql.append(", c.directors, c.writers ");
+        }
+        if (includePrincipals) {
+            sql.append(", p.principals ");
+        }
+        sql.append("""
+            FROM title_basics t
+            LEFT JOIN title_ratings r ON t.tconst = r.tconst
+            """);
+        if (includeCrew) {
+            sql.append("LEFT JOIN title_crew c ON t.tconst = c.tconst ");
+        }
+        if (includePrincipals) {
+            sql.append("""
+                LEFT JOIN (
+                    SELECT tp.tconst, string_agg(n.primaryName, ', ' ORDER BY tp.ordering) AS principals
+                    FROM title_principals tp
+                    JOIN name_basics n ON tp.nconst = n.nconst
+                    WHERE tp.tconst = ANY(?)
+                    GROUP BY tp.tconst
+                ) p ON t.tconst = p.tconst
+                """);
+        }
+        sql.append("WHERE t.tconst = ANY(?)");
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            Array idArray = con.createArrayOf("text", ids.toArray());
+            int index = 1;
+            if (includePrincipals) {
+                ps.setArray(index++, idArray);
             }
-        });
+            ps.setArray(index, idArray);
+            return ps;
+        }, new ColumnMapRowMapper());
+
+        if (withPlot) {
+            enrichWithOmdb(rows);
+        }
+
+        Map<String, Map<String, Object>> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.get("tconst").toString(), row));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Map<String, Object> row = byId.get(id);
+            if (row != null) {
+                results.add(row);
+            } else {
+                missing.add(id);
+            }
+        }
 
-        return results;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("results", results);
+        response.put("missing", missing);
+        return response;
     }
 }
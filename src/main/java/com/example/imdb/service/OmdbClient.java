@@ -2,22 +2,57 @@ package com.example.imdb.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class OmdbClient {
 
     private final RestTemplate restTemplate;
     private final String apiKey;
+    private final ExecutorService executor;
+    private final long batchTimeoutMillis;
 
-    public OmdbClient(RestTemplate restTemplate, @Value("${omdb.api.key}") String apiKey) {
+    public OmdbClient(RestTemplate restTemplate,
+                      @Value("${omdb.api.key}") String apiKey,
+                      @Value("${omdb.api.max-concurrency:8}") int maxConcurrency,
+                      @Value("${omdb.api.queue-capacity:200}") int queueCapacity,
+                      @Value("${omdb.api.batch-timeout-ms:15000}") long batchTimeoutMillis) {
         this.restTemplate = restTemplate;
         this.apiKey = apiKey;
-    }private static final Logger log = LoggerFactory.getLogger(OmdbClient.class);
+        this.batchTimeoutMillis = batchTimeoutMillis;
+        // Bounded queue: once it is full, further lookups are rejected instead of piling up behind OMDb
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(r, "omdb-fetch");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(OmdbClient.class);
 
     public void testLogging() {
         log.info("This is an INFO log");
@@ -66,4 +101,55 @@ public class OmdbClient {
         return null;
     }
 
+    /**
+     * Fetch details for many IMDb IDs at once. Duplicate IDs are fetched once and requests run
+     * concurrently, bounded by {@code omdb.api.max-concurrency}. IDs without data are absent from the result,
+     * as are IDs that did not fit in the {@code omdb.api.queue-capacity} fetch queue or did not finish
+     * within {@code omdb.api.batch-timeout-ms} of the batch starting.
+     */
+    public Map<String, Map<String, Object>> fetchMovieDetails(Collection<String> imdbIds) {
+        List<String> distinctIds = imdbIds.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.isEmpty())
+                .distinct()
+                .toList();
+
+        Map<String, CompletableFuture<Map<String, Object>>> futures = new LinkedHashMap<>();
+        int rejected = 0;
+        for (String imdbId : distinctIds) {
+            try {
+                futures.put(imdbId, CompletableFuture.supplyAsync(() -> fetchMovieDetails(imdbId), executor));
+            } catch (RejectedExecutionException e) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.warn("OMDb fetch queue full, skipped {} of {} IDs", rejected, distinctIds.size());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+        Map<String, Map<String, Object>> details = new HashMap<>();
+        int timedOut = 0;
+        for (Map.Entry<String, CompletableFuture<Map<String, Object>>> entry : futures.entrySet()) {
+            try {
+                Map<String, Object> data = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (data != null) {
+                    details.put(entry.getKey(), data);
+                }
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(false);
+                timedOut++;
+            } catch (ExecutionException e) {
+                log.warn("OMDb fetch failed for {}: {}", entry.getKey(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (timedOut > 0) {
+            log.warn("OMDb batch timed out after {} ms, skipped {} of {} IDs", batchTimeoutMillis, timedOut, futures.size());
+        }
+        return details;
+    }
+
 }
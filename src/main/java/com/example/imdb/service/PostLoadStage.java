@@ -0,0 +1,102 @@
+package com.example.imdb.service;
+
+import com.example.imdb.config.DataLoadCompletedEvent;
+import com.example.imdb.config.TableReadiness;
+import com.example.imdb.config.TableState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Base for derived structures built from the loaded tables (autocomplete index, collaboration
+ * graph, series rollups). Each stage builds on its own daemon thread once loading completes and
+ * again on refresh, and is tracked as a readiness stage: it only turns FAILED when there is no
+ * previous build to keep serving.
+ */
+public abstract class PostLoadStage {
+
+    private static final Logger log = LoggerFactory.getLogger(PostLoadStage.class);
+
+    private final String name;
+    private final TableReadiness readiness;
+    private final String[] sourceTables;
+    private final ExecutorService executor;
+
+    protected PostLoadStage(String name, TableReadiness readiness, String... sourceTables) {
+        this.name = name;
+        this.readiness = readiness;
+        this.sourceTables = sourceTables;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, name + "-builder");
+            t.setDaemon(true);
+            return t;
+        });
+        readiness.registerStage(name);
+    }
+
+    /**
+     * Builds the stage and swaps it in; the previous build keeps serving until this returns.
+     */
+    protected abstract void build();
+
+    public String stageName() {
+        return name;
+    }
+
+    @EventListener
+    public void onDataLoaded(DataLoadCompletedEvent event) {
+        refresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules a rebuild on the builder thread.
+     */
+    public void refresh() {
+        executor.submit(this::rebuild);
+    }
+
+    /**
+     * Schedules a rebuild and returns the body for a {@code 202 Accepted} refresh response.
+     */
+    public Map<String, String> scheduleRefresh() {
+        refresh();
+        return Map.of("stage", name, "status", "REFRESH_SCHEDULED");
+    }
+
+    private void rebuild() {
+        if (!readiness.isReady(sourceTables)) {
+            log.warn("Skipping {} build, source tables not ready: {}", name, readiness.snapshot());
+            markFailedUnlessServing();
+            return;
+        }
+        if (readiness.stateOf(name) != TableState.READY) {
+            readiness.mark(name, TableState.LOADING);
+        }
+
+        try {
+            long start = System.nanoTime();
+            build();
+            readiness.mark(name, TableState.READY);
+            log.info("Stage {} ready in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            markFailedUnlessServing();
+            log.error("Failed to build {}", name, e);
+        }
+    }
+
+    private void markFailedUnlessServing() {
+        if (readiness.stateOf(name) != TableState.READY) {
+            readiness.mark(name, TableState.FAILED);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.imdb.service;
+
+import com.example.imdb.config.TableReadiness;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Post-load stage that aggregates title_episode with ratings into per-series and per-season
+ * rollup tables, so a series page is a single primary-key or index lookup.
+ *
+ * <p>Rollups are built into {@code *_new} tables and swapped in with a rename inside one
+ * transaction, so the previous rollups keep serving during a refresh.
+ *
+ * <p>Rollups are read through the query pool, which points at the same database the background
+ * pool builds them in, not through the optional read pool: a separately loaded read instance
+ * would not have them.
+ */
+@Service
+public class SeriesRollupService extends PostLoadStage {
+
+    public static final String ROLLUP_NAME = "series_rollup";
+
+    // seasonNumber is TEXT: non-numeric values become NULL instead of failing the build.
+    // title_basics may predate the NULL '\N' fix and still hold a literal \N in startYear
+    private static final String EPISODES = """
+            WITH eps AS (
+                SELECT e.parentTconst AS seriesTconst,
+                       CASE WHEN e.seasonNumber ~ '^[0-9]+$' THEN CAST(e.seasonNumber AS INTEGER) END AS season,
+                       e.tconst AS episodeTconst,
+                       CAST(NULLIF(b.startYear, '\\N') AS INTEGER) AS year,
+                       r.averageRating,
+                       r.numVotes
+                FROM title_episode e
+                LEFT JOIN title_basics b ON e.tconst = b.tconst
+                LEFT JOIN title_ratings r ON e.tconst = r.tconst
+            )
+            """;
+
+    private static final String AGGREGATES = """
+                   COUNT(*) AS episodeCount,
+                   COUNT(averageRating) AS ratedEpisodeCount,
+                   SUM(numVotes) AS totalVotes,
+                   SUM(averageRating * numVotes) / NULLIF(SUM(numVotes), 0) AS weightedRating,
+                   (array_agg(episodeTconst ORDER BY averageRating DESC, numVotes DESC) FILTER (WHERE averageRating IS NOT NULL))[1] AS bestEpisode,
+                   MAX(averageRating) AS bestRating,
+                   (array_agg(episodeTconst ORDER BY averageRating ASC, numVotes DESC) FILTER (WHERE averageRating IS NOT NULL))[1] AS worstEpisode,
+                   MIN(averageRating) AS worstRating,
+                   MIN(year) AS firstYear,
+                   MAX(year) AS lastYear
+            """;
+
+    private final JdbcTemplate backgroundJdbcTemplate;
+    private final JdbcTemplate queryJdbcTemplate;
+
+    public SeriesRollupService(@Qualifier("backgroundJdbcTemplate") JdbcTemplate backgroundJdbcTemplate,
+                               @Qualifier("jdbcTemplate") JdbcTemplate queryJdbcTemplate,
+                               TableReadiness readiness) {
+        super(ROLLUP_NAME, readiness, "title_episode", "title_basics", "title_ratings");
+        this.backgroundJdbcTemplate = backgroundJdbcTemplate;
+        this.queryJdbcTemplate = queryJdbcTemplate;
+    }
+
+    @Override
+    protected void build() {
+        backgroundJdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (Statement stmt = con.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS season_rollup_new");
+                stmt.execute("DROP TABLE IF EXISTS series_rollup_new");
+
+                stmt.execute("CREATE TABLE season_rollup_new AS " + EPISODES + """
+                        SELECT seriesTconst, season,
+                        """ + AGGREGATES + """
+                        FROM eps
+                        GROUP BY seriesTconst, season
+                        """);
+                stmt.execute("CREATE TABLE series_rollup_new AS " + EPISODES + """
+                        SELECT eps.seriesTconst, s.primaryTitle,
+                               COUNT(DISTINCT season) AS seasonCount,
+                        """ + AGGREGATES + """
+                        FROM eps
+                        LEFT JOIN title_basics s ON eps.seriesTconst = s.tconst
+                        GROUP BY eps.seriesTconst, s.primaryTitle
+                        """);
+
+                stmt.execute("ALTER TABLE series_rollup_new ADD PRIMARY KEY (seriesTconst)");
+                stmt.execute("CREATE INDEX ON season_rollup_new (seriesTconst, season)");
+                stmt.execute("ANALYZE season_rollup_new");
+                stmt.execute("ANALYZE series_rollup_new");
+
+                boolean autoCommit = con.getAutoCommit();
+                con.setAutoCommit(false);
+                try {
+                    stmt.execute("DROP TABLE IF EXISTS season_rollup");
+                    stmt.execute("DROP TABLE IF EXISTS series_rollup");
+                    stmt.execute("ALTER TABLE season_rollup_new RENAME TO season_rollup");
+                    stmt.execute("ALTER TABLE series_rollup_new RENAME TO series_rollup");
+                    con.commit();
+                } catch (Exception e) {
+                    con.rollback();
+                    throw e;
+                } finally {
+                    con.setAutoCommit(autoCommit);
+                }
+            }
+            return null;
+        });
+    }
+
+    public List<Map<String, Object>> findSeries(String tconst) {
+        return queryJdbcTemplate.queryForList("SELECT * FROM series_rollup WHERE seriesTconst = ?", tconst);
+    }
+
+    public List<Map<String, Object>> findSeasons(String tconst) {
+        return queryJdbcTemplate.queryForList("""
+            SELECT * FROM season_rollup
+            WHERE seriesTconst = ?
+            ORDER BY season NULLS LAST
+            """, tconst);
+    }
+
+    public List<Map<String, Object>> findSeason(String tconst, int season) {
+        return queryJdbcTemplate.queryForList(
+                "SELECT * FROM season_rollup WHERE seriesTconst = ? AND season = ?", tconst, season);
+    }
+}
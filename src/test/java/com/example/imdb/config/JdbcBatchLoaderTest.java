@@ -0,0 +1,120 @@
+package com.example.imdb.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcBatchLoaderTest {
+
+    private static final TableMeta RATINGS = new TableMeta("title_ratings", """
+            tconst TEXT PRIMARY KEY,
+            averageRating FLOAT,
+            numVotes INTEGER
+            """, new String[0]);
+
+    @TempDir
+    Path dir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    @AfterEach
+    void closeDatabase() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void csvReadLoadsNullMarkersAsNull() throws Exception {
+        assertNullsSurvive(new JdbcBatchLoader(100, 50, true), true);
+    }
+
+    @Test
+    void batchInsertLoadsNullMarkersAsNull() throws Exception {
+        assertNullsSurvive(new JdbcBatchLoader(2, 1, false), false);
+    }
+
+    @Test
+    void failedBatchLoadLeavesTableEmpty() throws Exception {
+        JdbcBatchLoader loader = new JdbcBatchLoader(2, 1, false);
+        loader.createTable(conn, RATINGS);
+        // Two full batches go through before the malformed row fails the load
+        Path file = write("""
+                tt0000001\t5.7\t2000
+                tt0000002\t5.8\t270
+                tt0000003\t6.5\t1900
+                tt0000004\t5.5\t180
+                tt0000005\t6.2\tnot-a-number
+                """);
+
+        assertThrows(NumberFormatException.class, () -> loader.load(conn, RATINGS, RATINGS.name(), file, false));
+        assertEquals(0, count());
+    }
+
+    @Test
+    void unsupportedIndexesAreSkippedButRealFailuresPropagate() throws Exception {
+        JdbcBatchLoader loader = new JdbcBatchLoader(100, 50, true);
+        TableMeta postgresOnly = new TableMeta(RATINGS.name(), RATINGS.ddl(), new String[]{
+                "CREATE INDEX IF NOT EXISTS idx_ratings_votes ON title_ratings(numVotes)",
+                "CREATE INDEX IF NOT EXISTS idx_ratings_tconst_pattern ON title_ratings(lower(tconst) text_pattern_ops)"
+        });
+        loader.createTable(conn, postgresOnly);
+        loader.createIndexes(conn, postgresOnly);
+
+        TableMeta broken = new TableMeta(RATINGS.name(), RATINGS.ddl(), new String[]{
+                "CREATE INDEX IF NOT EXISTS idx_ratings_missing ON title_ratings(noSuchColumn)"
+        });
+        assertThrows(SQLException.class, () -> loader.createIndexes(conn, broken));
+    }
+
+    private void assertNullsSurvive(JdbcBatchLoader loader, boolean csvRead) throws Exception {
+        loader.createTable(conn, RATINGS);
+        Path file = write("""
+                tt0000001\t5.7\t2000
+                tt0000002\t\\N\t\\N
+                tt0000003\t6.5\t1900
+                """);
+
+        loader.load(conn, RATINGS, RATINGS.name(), file, csvRead);
+
+        assertEquals(3, count());
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT averageRating, numVotes FROM title_ratings WHERE tconst = 'tt0000002'")) {
+            rs.next();
+            assertNull(rs.getObject(1));
+            assertNull(rs.getObject(2));
+        }
+    }
+
+    private Path write(String rows) throws Exception {
+        Path file = dir.resolve("fixture.tsv");
+        Files.writeString(file, rows);
+        return file;
+    }
+
+    private long count() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM title_ratings")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.imdb.config;
+
+import com.example.imdb.config.PgBinaryCopyEncoder.ColumnType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PgBinaryCopyEncoderTest {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    @Test
+    void headerIsSignatureFlagsAndEmptyExtension() throws Exception {
+        ByteBuffer buf = encode(new PgBinaryCopyEncoder(new ColumnType[]{ColumnType.TEXT}), encoder -> {});
+
+        byte[] signature = new byte[SIGNATURE.length];
+        buf.get(signature);
+        assertArrayEquals(SIGNATURE, signature);
+        assertEquals(0, buf.getInt()); // flags
+        assertEquals(0, buf.getInt()); // header extension length
+        assertEquals(-1, buf.getShort()); // trailer
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void tupleHasFieldCountLengthPrefixedValuesAndNulls() throws Exception {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(
+                new ColumnType[]{ColumnType.TEXT, ColumnType.FLOAT8, ColumnType.INT4, ColumnType.TEXT});
+        ByteBuffer buf = encode(encoder, out -> encoder.writeRow(out, new String[]{"tt0000001", "5.7", "2000", "\\N"}));
+        buf.position(SIGNATURE.length + 8);
+
+        assertEquals(4, buf.getShort());
+        byte[] text = "tt0000001".getBytes(StandardCharsets.UTF_8);
+        assertEquals(text.length, buf.getInt());
+        byte[] actual = new byte[text.length];
+        buf.get(actual);
+        assertArrayEquals(text, actual);
+        assertEquals(8, buf.getInt());
+        assertEquals(5.7, buf.getDouble());
+        assertEquals(4, buf.getInt());
+        assertEquals(2000, buf.getInt());
+        assertEquals(-1, buf.getInt()); // NULL has length -1 and no payload
+        assertEquals(-1, buf.getShort());
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void textIsEncodedAsUtf8Bytes() throws Exception {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(new ColumnType[]{ColumnType.TEXT});
+        ByteBuffer buf = encode(encoder, out -> encoder.writeRow(out, new String[]{"Amélie"}));
+        buf.position(SIGNATURE.length + 8 + 2);
+
+        assertEquals("Amélie".getBytes(StandardCharsets.UTF_8).length, buf.getInt());
+    }
+
+    private interface Body {
+        void write(DataOutputStream out) throws Exception;
+    }
+
+    private static ByteBuffer encode(PgBinaryCopyEncoder encoder, Body body) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.writeHeader(out);
+            body.write(out);
+            encoder.writeTrailer(out);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.imdb.service;
+
+import com.example.imdb.service.AutocompleteIndex.Kind;
+import com.example.imdb.service.AutocompleteIndex.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest {
+
+    private static final int ENTRIES = 20_000;
+
+    @Test
+    void heavyPrefixesMatchBruteForceScan() {
+        Random random = new Random(42);
+        List<Integer> votes = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            votes.add(i);
+        }
+        Collections.shuffle(votes, random);
+
+        // A three-letter alphabet makes short prefixes cover far more than SCAN_LIMIT keys
+        AutocompleteIndex.Builder builder = new AutocompleteIndex.Builder();
+        Map<String, List<String>> keysById = new HashMap<>();
+        Map<String, Integer> votesById = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            String id = String.format("tt%07d", i);
+            String label = randomWord(random) + " " + randomWord(random);
+            String aka = randomWord(random);
+            builder.addEntry(id, label, Kind.TITLE, votes.get(i));
+            builder.addKey(id, aka);
+            keysById.put(id, List.of(AutocompleteIndex.normalize(label), AutocompleteIndex.normalize(aka)));
+            votesById.put(id, votes.get(i));
+        }
+        AutocompleteIndex index = builder.build();
+
+        Set<String> prefixes = new LinkedHashSet<>(List.of("a", "b", "c", "ab", "ba", "cc", "abc", "a b", "cab"));
+        for (int i = 0; i < 200; i++) {
+            prefixes.add(randomWord(random).substring(0, 1 + random.nextInt(3)));
+        }
+
+        boolean sawHeavyPrefix = false;
+        for (String prefix : prefixes) {
+            List<String> expected = bruteForce(keysById, votesById, prefix, AutocompleteIndex.MAX_SUGGESTIONS);
+            List<String> actual = index.suggest(prefix, AutocompleteIndex.MAX_SUGGESTIONS).stream()
+                    .map(Suggestion::id)
+                    .toList();
+            assertEquals(expected, actual, "prefix '" + prefix + "'");
+            sawHeavyPrefix |= countMatches(keysById, prefix) > AutocompleteIndex.SCAN_LIMIT;
+        }
+        assertTrue(sawHeavyPrefix, "fixture should exercise precomputed heavy prefixes");
+    }
+
+    @Test
+    void limitTruncatesHeavyPrefixResult() {
+        AutocompleteIndex.Builder builder = new AutocompleteIndex.Builder();
+        for (int i = 0; i < 3 * AutocompleteIndex.SCAN_LIMIT; i++) {
+            builder.addEntry("nm" + i, "Star " + i, Kind.NAME, i);
+        }
+        List<Suggestion> suggestions = builder.build().suggest("st", 5);
+
+        assertEquals(5, suggestions.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3 * AutocompleteIndex.SCAN_LIMIT - 1 - i, suggestions.get(i).votes());
+        }
+    }
+
+    @Test
+    void queryIsNormalizedLikeKeys() {
+        AutocompleteIndex index = new AutocompleteIndex.Builder()
+                .addEntry("tt0000001", "Amélie", Kind.TITLE, 10)
+                .addEntry("tt0000002", "Spider-Man: No Way Home", Kind.TITLE, 20)
+                .build();
+
+        assertEquals("tt0000001", index.suggest("AME", 10).get(0).id());
+        assertEquals("tt0000002", index.suggest("spider man", 10).get(0).id());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    private static List<String> bruteForce(Map<String, List<String>> keysById, Map<String, Integer> votesById,
+                                           String prefix, int limit) {
+        return keysById.entrySet().stream()
+                .filter(e -> e.getValue().stream().anyMatch(key -> key.startsWith(prefix)))
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.comparing(votesById::get).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static long countMatches(Map<String, List<String>> keysById, String prefix) {
+        return keysById.values().stream()
+                .flatMap(List::stream)
+                .filter(key -> key.startsWith(prefix))
+                .count();
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.imdb.service;
+
+import com.example.imdb.service.CollaborationGraph.PathStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollaborationGraphTest {
+
+    /**
+     * Titles 10, 11, 12 with casts {1, 2, 3}, {1, 2}, {3, 4}; person 5 is only in title 13.
+     */
+    private static CollaborationGraph smallGraph() {
+        return new CollaborationGraph.Builder()
+                .addEdge(10, 1).addEdge(10, 2).addEdge(10, 3)
+                .addEdge(11, 1).addEdge(11, 2)
+                .addEdge(11, 2) // duplicate credit
+                .addEdge(12, 3).addEdge(12, 4)
+                .addEdge(13, 5)
+                .build();
+    }
+
+    @Test
+    void sharedTitlesAreIntersectedAndDeduplicated() {
+        CollaborationGraph graph = smallGraph();
+
+        assertArrayEquals(new int[]{10, 11}, graph.sharedTitles(1, 2));
+        assertArrayEquals(new int[]{10}, graph.sharedTitles(2, 3));
+        assertArrayEquals(new int[0], graph.sharedTitles(1, 4));
+        assertArrayEquals(new int[0], graph.sharedTitles(1, 99));
+    }
+
+    @Test
+    void topCoStarsAreOrderedBySharedTitles() {
+        CollaborationGraph graph = smallGraph();
+
+        assertEquals(List.of(new CollaborationGraph.CoStar(2, 2), new CollaborationGraph.CoStar(3, 1)),
+                graph.topCoStars(1, 10));
+        assertEquals(List.of(new CollaborationGraph.CoStar(2, 2)), graph.topCoStars(1, 1));
+        assertEquals(List.of(), graph.topCoStars(5, 10));
+    }
+
+    @Test
+    void shortestPathOnSmallGraph() {
+        CollaborationGraph graph = smallGraph();
+
+        CollaborationGraph.PathResult result = graph.shortestPath(1, 4, 6, 1000);
+        assertEquals(PathStatus.FOUND, result.status());
+        assertArrayEquals(new int[]{1, 3, 4}, result.path().personIds());
+        assertArrayEquals(new int[]{10, 12}, result.path().titleIds());
+
+        assertArrayEquals(new int[]{2}, graph.shortestPath(2, 2, 6, 1000).path().personIds());
+        assertEquals(PathStatus.NOT_CONNECTED, graph.shortestPath(1, 5, 6, 1000).status());
+        assertEquals(PathStatus.NOT_CONNECTED, graph.shortestPath(1, 99, 6, 1000).status());
+    }
+
+    @Test
+    void preallocatedSearchScratchIsCountedInMemory() {
+        CollaborationGraph graph = new CollaborationGraph.Builder().searchSlots(3)
+                .addEdge(10, 1).addEdge(10, 2).addEdge(11, 2)
+                .build();
+
+        assertEquals(3, graph.searchSlots());
+        assertEquals(3 * 2 * (13L * 2 + 4L * 2), graph.scratchBytes());
+        assertTrue(graph.memoryBytes() > graph.scratchBytes());
+    }
+
+    @Test
+    void cutShortSearchesAreReportedAsLimitReached() {
+        CollaborationGraph graph = smallGraph();
+
+        CollaborationGraph.PathResult depthLimited = graph.shortestPath(1, 4, 1, 1000);
+        assertEquals(PathStatus.LIMIT_REACHED, depthLimited.status());
+        assertNull(depthLimited.path());
+        assertEquals(PathStatus.LIMIT_REACHED, graph.shortestPath(1, 4, 6, 1).status());
+    }
+
+    @Test
+    void bidirectionalSearchMatchesPlainBreadthFirstSearch() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            CollaborationGraph.Builder builder = new CollaborationGraph.Builder().searchSlots(2);
+            Map<Integer, Set<Integer>> titlesByPerson = new HashMap<>();
+            Map<Integer, Set<Integer>> peopleByTitle = new HashMap<>();
+            for (int i = 0; i < 600; i++) {
+                int title = random.nextInt(300);
+                int person = random.nextInt(250);
+                builder.addEdge(title, person);
+                titlesByPerson.computeIfAbsent(person, k -> new HashSet<>()).add(title);
+                peopleByTitle.computeIfAbsent(title, k -> new HashSet<>()).add(person);
+            }
+            CollaborationGraph graph = builder.build();
+            List<Integer> people = new ArrayList<>(titlesByPerson.keySet());
+
+            // Many searches per graph, so pooled scratch buffers are reused across calls
+            for (int query = 0; query < 100; query++) {
+                int from = people.get(random.nextInt(people.size()));
+                int to = people.get(random.nextInt(people.size()));
+                Integer expected = distance(titlesByPerson, peopleByTitle, from, to);
+                CollaborationGraph.PathResult result = graph.shortestPath(from, to, 64, Integer.MAX_VALUE);
+
+                if (expected == null) {
+                    assertEquals(PathStatus.NOT_CONNECTED, result.status());
+                    continue;
+                }
+                assertEquals(PathStatus.FOUND, result.status(), from + " -> " + to);
+                CollaborationGraph.Path path = result.path();
+                assertEquals(expected.intValue(), path.titleIds().length, from + " -> " + to);
+                assertEquals(from, path.personIds()[0]);
+                assertEquals(to, path.personIds()[path.personIds().length - 1]);
+                for (int i = 0; i < path.titleIds().length; i++) {
+                    Set<Integer> cast = peopleByTitle.get(path.titleIds()[i]);
+                    assertTrue(cast.contains(path.personIds()[i]) && cast.contains(path.personIds()[i + 1]));
+                }
+            }
+        }
+    }
+
+    private static Integer distance(Map<Integer, Set<Integer>> titlesByPerson, Map<Integer, Set<Integer>> peopleByTitle,
+                                    int from, int to) {
+        Map<Integer, Integer> depth = new HashMap<>(Map.of(from, 0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(from));
+        while (!queue.isEmpty()) {
+            int person = queue.poll();
+            for (int title : titlesByPerson.get(person)) {
+                for (int next : peopleByTitle.get(title)) {
+                    if (depth.putIfAbsent(next, depth.get(person) + 1) == null) {
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return depth.get(to);
+    }
+}